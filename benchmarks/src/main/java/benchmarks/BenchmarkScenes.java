@@ -0,0 +1,125 @@
+package benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import Component.BoxBounds;
+import Component.Sprite;
+import Component.Spritesheet;
+import dataStructure.AssetPool;
+import dataStructure.Transform;
+import engine.GameObject;
+import engine.LevelScene;
+import engine.Window;
+import util.Constants;
+import util.Vector2;
+
+/**
+ * Construction des scènes utilisées par les benchmarks.
+ *
+ * <p>Les objets générés ressemblent à ceux posés dans l'éditeur : un sprite de
+ * {@code assets/groundSprites.png} et une boîte de collision d'une tuile, alignés sur la grille
+ * en colonnes de {@link #ROWS} blocs à partir de {@link #START_X}.</p>
+ */
+public final class BenchmarkScenes {
+
+    /** Nombre de blocs empilés par colonne. */
+    public static final int ROWS = 8;
+
+    /** Abscisse de la première colonne, devant la position de départ du joueur. */
+    public static final int START_X = 1200;
+
+    /** Nom d'un fichier de niveau inexistant, pour partir d'une scène vide. */
+    private static final String EMPTY_LEVEL = "__benchmark_empty__";
+
+    private BenchmarkScenes() {
+    }
+
+    /**
+     * Vérifie que le programme tourne depuis le dossier {@code src} et crée la fenêtre headless.
+     *
+     * @return La fenêtre headless.
+     */
+    public static Window window() {
+        if (!new File("assets").isDirectory() || !new File("levels").isDirectory()) {
+            System.out.println("Benchmarks must be run from the src directory (assets/ and levels/ not found in "
+                    + new File("").getAbsolutePath() + ")");
+            System.exit(-1);
+        }
+        System.setProperty("java.awt.headless", "true");
+        Window window = Window.getWindow();
+        window.isInEditor = false;
+        return window;
+    }
+
+    /**
+     * Crée une scène de niveau vide (joueur, sol et arrière-plans seulement) et l'active.
+     *
+     * @return La scène active.
+     */
+    public static LevelScene emptyLevel() {
+        LevelScene scene = new LevelScene("Benchmark", EMPTY_LEVEL);
+        window().changeScene(scene);
+        return scene;
+    }
+
+    /**
+     * Génère des blocs sur la grille. Les spritesheets doivent déjà être chargées
+     * (voir {@link LevelScene#initAssetPool()}).
+     *
+     * @param count Nombre de blocs.
+     * @return Les blocs générés.
+     */
+    public static List<GameObject> blocks(int count) {
+        Spritesheet sheet = AssetPool.getSpritesheet("assets/groundSprites.png");
+        List<GameObject> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int column = i / ROWS;
+            int row = i % ROWS;
+            float x = START_X + column * Constants.TILE_WIDTH;
+            float y = Constants.GROUND_Y - (row + 1) * Constants.TILE_HEIGHT;
+
+            GameObject block = new GameObject("Generated", new Transform(new Vector2(x, y)), 0);
+            block.addComponent(sheet.sprites.get(i % sheet.sprites.size()).copy());
+            block.addComponent(new BoxBounds(Constants.TILE_WIDTH, Constants.TILE_HEIGHT));
+            block.setStatic(true);
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    /**
+     * Crée une scène de niveau active contenant le nombre de blocs demandé, leurs sprites
+     * empaquetés dans un atlas comme au chargement d'un niveau.
+     *
+     * @param count Nombre de blocs.
+     * @return La scène active.
+     */
+    public static LevelScene level(int count) {
+        LevelScene scene = emptyLevel();
+        List<GameObject> blocks = blocks(count);
+        scene.packSprites(blocks);
+        for (GameObject block : blocks) {
+            scene.addGameObject(block);
+        }
+        return scene;
+    }
+
+    /**
+     * Sérialise des objets au format des fichiers de niveau (voir l'export de l'éditeur).
+     *
+     * @param objects Les objets à sérialiser.
+     * @return Le contenu JSON du niveau.
+     */
+    public static String serialize(List<GameObject> objects) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < objects.size(); i++) {
+            builder.append(objects.get(i).serialize(0));
+            if (i != objects.size() - 1) {
+                builder.append('\n');
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dataStructure.AssetPool;
+import util.Constants;
+
+/**
+ * Mesure le remplissage d'une image de la taille de la fenêtre avec une image répétée, selon
+ * le format de l'image source : telle que décodée par ImageIO ({@code decoded}) ou convertie par
+ * {@link AssetPool#toCompatible} ({@code compatible}).
+ *
+ * <p>{@code tile} est une tuile de 42 pixels extraite de {@code assets/groundSprites.png} (une
+ * sous-image, comme les sprites d'une spritesheet), {@code background} l'arrière-plan de
+ * 512 pixels {@code assets/backgrounds/bg01.png}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlitBenchmark {
+
+    /** Image source : {@code tile} ou {@code background}. */
+    @Param({"tile", "background"})
+    public String image;
+
+    /** Format de l'image source : {@code decoded} ou {@code compatible}. */
+    @Param({"decoded", "compatible"})
+    public String format;
+
+    /** L'image répétée. */
+    private BufferedImage source;
+
+    /** Image de destination. */
+    private BufferedImage frame;
+
+    /** Graphics de l'image de destination. */
+    private Graphics2D g2;
+
+    /**
+     * Charge l'image source et crée l'image de destination.
+     *
+     * @throws IOException Si l'image ne peut pas être lue.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkScenes.window();
+        if (image.equals("tile")) {
+            source = ImageIO.read(new File("assets/groundSprites.png")).getSubimage(0, 0,
+                    Constants.TILE_WIDTH, Constants.TILE_HEIGHT);
+        } else {
+            source = ImageIO.read(new File("assets/backgrounds/bg01.png"));
+        }
+        if (format.equals("compatible")) {
+            source = AssetPool.toCompatible(source);
+        }
+        frame = new BufferedImage(Constants.WIDTH, Constants.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = frame.createGraphics();
+    }
+
+    /**
+     * Libère le Graphics de l'image.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    /**
+     * Recouvre toute l'image de destination avec l'image source.
+     *
+     * @return L'image remplie.
+     */
+    @Benchmark
+    public BufferedImage fill() {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        for (int y = 0; y < Constants.HEIGHT; y += height) {
+            for (int x = 0; x < Constants.WIDTH; x += width) {
+                g2.drawImage(source, x, y, width, height, null);
+            }
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Component.RigidBody;
+import engine.LevelScene;
+import util.Constants;
+
+/**
+ * Mesure un tick complet de {@link LevelScene#update(double)} : mise à jour des objets puis passe
+ * de collision du joueur contre les boîtes proches de lui, avec chacun des index de boîtes fixes.
+ *
+ * <p>Chaque tick part du même état : le joueur court sur la colonne du milieu des blocs, loin de
+ * la position de départ du niveau, pour que la collision se fasse au cœur de la scène quelle
+ * que soit sa taille.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollisionBenchmark {
+
+    /** Nombre d'objets de la scène. */
+    @Param({"1000", "10000", "100000"})
+    public int objects;
+
+    /** Index des boîtes de collision fixes. */
+    @Param({"GRID", "SWEEP"})
+    public LevelScene.Broadphase broadphase;
+
+    /** La scène simulée. */
+    private LevelScene scene;
+
+    /** Vitesse du joueur, remise à zéro avant chaque tick. */
+    private RigidBody body;
+
+    /** Position de départ du joueur : posé sur la colonne du milieu des blocs. */
+    private float startX, startY;
+
+    /**
+     * Crée la scène et la rend active.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        scene = BenchmarkScenes.level(objects);
+        scene.setBroadphase(broadphase);
+        body = scene.player.getComponent(RigidBody.class);
+
+        int columns = (objects + BenchmarkScenes.ROWS - 1) / BenchmarkScenes.ROWS;
+        startX = BenchmarkScenes.START_X + (columns / 2) * Constants.TILE_WIDTH;
+        startY = Constants.GROUND_Y - BenchmarkScenes.ROWS * Constants.TILE_HEIGHT - Constants.PLAYER_HEIGHT;
+    }
+
+    /**
+     * Replace le joueur à sa position de départ, puis exécute un tick de simulation. La remise
+     * à zéro reste dans la mesure : {@code Level.Invocation} coûterait plus qu'un tick.
+     */
+    @Benchmark
+    public void tick() {
+        scene.player.transform.position.x = startX;
+        scene.player.transform.position.y = startY;
+        scene.player.transform.rotation = 0;
+        scene.player.transform.storePreviousPosition();
+        body.velocity.x = Constants.PLAYER_SPEED;
+        body.velocity.y = 0;
+        scene.camera.position.x = startX - Constants.CAMERA_OFFSET_X;
+
+        scene.update(Constants.FIXED_DELTA_TIME);
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import engine.GameObject;
+import file.Parser;
+
+/**
+ * Mesure le chargement d'une archive de niveau réelle : ouverture du ZIP puis
+ * {@link Parser#parseGameObject()} sur tous ses objets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LevelArchiveBenchmark {
+
+    /** Nom du niveau à charger (dans le dossier levels, sans extension). */
+    @Param({"Test"})
+    public String level;
+
+    /**
+     * Charge les spritesheets référencées par les niveaux.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkScenes.emptyLevel().initAssetPool();
+    }
+
+    /**
+     * Ouvre l'archive et analyse tous ses objets.
+     *
+     * @param blackhole Consommateur des objets analysés.
+     */
+    @Benchmark
+    public void parseArchive(Blackhole blackhole) {
+        Parser.openFile(level);
+        GameObject go = Parser.parseGameObject();
+        while (go != null) {
+            blackhole.consume(go);
+            go = Parser.parseGameObject();
+        }
+    }
+}
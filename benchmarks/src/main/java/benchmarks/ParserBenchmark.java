@@ -0,0 +1,65 @@
+package benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import engine.GameObject;
+import file.Parser;
+
+/**
+ * Mesure {@link Parser#parseGameObject()} : chargement complet de niveaux générés de 1k à 100k
+ * objets. L'archive réelle est mesurée par {@link LevelArchiveBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    /** Nombre d'objets du niveau généré. */
+    @Param({"1000", "10000", "100000"})
+    public int objects;
+
+    /** Contenu JSON du niveau généré. */
+    private byte[] level;
+
+    /**
+     * Charge les spritesheets et sérialise le niveau généré.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkScenes.emptyLevel().initAssetPool();
+        level = BenchmarkScenes.serialize(BenchmarkScenes.blocks(objects)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Analyse tous les objets du niveau généré, déjà en mémoire.
+     *
+     * @param blackhole Consommateur des objets analysés.
+     */
+    @Benchmark
+    public void parseGenerated(Blackhole blackhole) {
+        Parser.openBytes(level);
+        GameObject go = Parser.parseGameObject();
+        while (go != null) {
+            blackhole.consume(go);
+            go = Parser.parseGameObject();
+        }
+    }
+}
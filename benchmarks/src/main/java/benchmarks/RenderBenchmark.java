@@ -0,0 +1,88 @@
+package benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.LevelScene;
+import engine.RenderQuality;
+import engine.Renderer;
+import util.Constants;
+
+/**
+ * Mesure le dessin d'une frame de {@link LevelScene} (fond puis {@link Renderer#render}) dans
+ * une image hors écran de la taille de la fenêtre, la caméra placée sur les blocs, pour chaque
+ * {@link RenderQuality profil de qualité}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+
+    /** Nombre d'objets de la scène. */
+    @Param({"1000", "10000", "100000"})
+    public int objects;
+
+    /** Profil de qualité du rendu. */
+    @Param({"speed", "balanced", "quality"})
+    public String quality;
+
+    /** La scène dessinée. */
+    private LevelScene scene;
+
+    /** Image de destination. */
+    private BufferedImage frame;
+
+    /** Graphics de l'image de destination. */
+    private Graphics2D g2;
+
+    /**
+     * Crée la scène et l'image de destination.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        scene = BenchmarkScenes.level(objects);
+        // Caméra au début des blocs, pour que l'écran en soit rempli
+        scene.camera.position.x = BenchmarkScenes.START_X;
+        scene.camera.storePreviousPosition();
+        frame = new BufferedImage(Constants.WIDTH, Constants.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = frame.createGraphics();
+        RenderQuality.fromName(quality).apply(g2);
+    }
+
+    /**
+     * Libère le Graphics de l'image.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    /**
+     * Dessine une frame.
+     *
+     * @return L'image rendue.
+     */
+    @Benchmark
+    public BufferedImage render() {
+        scene.draw(g2);
+        return frame;
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.GameObject;
+
+/**
+ * Mesure {@link GameObject#serialize(int)} sur une scène entière, comme lors de l'export d'un
+ * niveau par l'éditeur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializeBenchmark {
+
+    /** Nombre d'objets de la scène. */
+    @Param({"1000", "10000", "100000"})
+    public int objects;
+
+    /** Les objets à sérialiser. */
+    private List<GameObject> scene;
+
+    /**
+     * Génère les objets de la scène.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkScenes.emptyLevel().initAssetPool();
+        scene = BenchmarkScenes.blocks(objects);
+    }
+
+    /**
+     * Sérialise tous les objets de la scène.
+     *
+     * @return Le JSON produit.
+     */
+    @Benchmark
+    public String serializeScene() {
+        return BenchmarkScenes.serialize(scene);
+    }
+}
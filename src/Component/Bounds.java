@@ -2,6 +2,7 @@ package Component;
 
 import engine.Component;
 import engine.GameObject;
+import engine.RenderSnapshot;
 import util.Vector2;
 
 enum BoundsType {
@@ -25,6 +26,14 @@ public abstract class Bounds extends Component {
      */
     abstract public float getWidth();
 
+    /**
+     * Les limites ne sont pas dessinées : rien n'est ajouté à l'instantané du thread de rendu.
+     * @param snapshot L'instantané en cours de capture.
+     */
+    @Override
+    public void capture(RenderSnapshot snapshot){
+    }
+
     /**
      * Obtient la hauteur de la limite.
      * @return la hauteur de la limite.
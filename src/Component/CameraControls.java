@@ -27,17 +27,17 @@ public class CameraControls extends Component {
      */
     @Override
     public void update(double dt) {
-        if (Window.getWindow().mouseListener.mousePressed &&
-                Window.getWindow().mouseListener.mouseButton == MouseEvent.BUTTON2) {
-            float dx = (Window.getWindow().mouseListener.x + Window.getWindow().mouseListener.dx - prevMx);
-            float dy = (Window.getWindow().mouseListener.y + Window.getWindow().mouseListener.dy - prevMy);
+        if (Window.getWindow().input.mousePressed &&
+                Window.getWindow().input.mouseButton == MouseEvent.BUTTON2) {
+            float dx = (Window.getWindow().input.x + Window.getWindow().input.dx - prevMx);
+            float dy = (Window.getWindow().input.y + Window.getWindow().input.dy - prevMy);
 
             Window.getWindow().getCurrentScene().camera.position.x -= dx;
             Window.getWindow().getCurrentScene().camera.position.y -= dy;
         }
 
-        prevMx = Window.getWindow().mouseListener.x + Window.getWindow().mouseListener.dx;
-        prevMy = Window.getWindow().mouseListener.y + Window.getWindow().mouseListener.dy;
+        prevMx = Window.getWindow().input.x + Window.getWindow().input.dx;
+        prevMy = Window.getWindow().input.y + Window.getWindow().input.dy;
     }
 
     /**
@@ -58,4 +58,4 @@ public class CameraControls extends Component {
     public String serialize(int tabSize){
         return "";
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -2,13 +2,16 @@ package Component;
 
 import engine.Window;
 import engine.Camera;
+import engine.Renderer;
 import util.Constants;
 import engine.Component;
 
 import java.awt.Color;
 import java.awt.BasicStroke;
 import java.awt.Graphics2D;
-import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+
+import dataStructure.AssetPool;
 
 /**
  * La classe Grid représente une grille dessinée sur l'écran.
@@ -19,19 +22,27 @@ import java.awt.geom.Line2D;
  * 
  * <p>Les dimensions de la grille sont définies par les constantes TILE_WIDTH et TILE_HEIGHT.</p>
  * 
+ * <p>La grille est dessinée une seule fois dans une image un peu plus grande que l'écran, puis
+ * copiée à chaque frame avec un décalage qui dépend de la position de la caméra.</p>
+ * 
  * @author Clement Lores
  */
 public class Grid extends Component {
 
     // La caméra utilisée pour déterminer la position de la grille
     Camera camera;
+
+    // Le renderer de la scène, qui donne l'interpolation de la frame en cours
+    Renderer renderer;
     
     // Largeur et hauteur de la grille
     public int gridWidth, gridHeight;
     
-    // Nombre de lignes verticales et horizontales
-    private int numYLines = 31;
-    private int numXLines = 20;
+    // Couleur des lignes
+    private static final Color LINE_COLOR = new Color(0.2f, 0.2f, 0.2f, 0.5f);
+
+    // Image de la grille, d'une case de plus que l'écran dans chaque direction
+    private BufferedImage image = null;
 
     /**
      * Constructeur de la classe Grid.
@@ -39,6 +50,7 @@ public class Grid extends Component {
      */
     public Grid(){
         this.camera = Window.getWindow().getCurrentScene().camera;
+        this.renderer = Window.getWindow().getCurrentScene().getRenderer();
         this.gridWidth = Constants.TILE_WIDTH;
         this.gridHeight = Constants.TILE_HEIGHT;
     }
@@ -54,30 +66,59 @@ public class Grid extends Component {
     }
 
     /**
-     * Dessine la grille sur l'écran.
+     * Dessine la grille sur l'écran, décalée selon la position interpolée de la caméra : la
+     * même que celle utilisée par le renderer pour les blocs.
      * 
      * @param g2 L'objet Graphics2D utilisé pour dessiner la grille
      */
     @Override
     public void draw(Graphics2D g2){
-        g2.setStroke(new BasicStroke(1f));
-        g2.setColor(new Color(0.2f, 0.2f, 0.2f, 0.5f));
-        float bottom = Math.min(Constants.GROUND_Y - camera.position.y, Constants.HEIGHT);
-        float startX = (float)Math.floor(camera.position.x / gridWidth) * gridWidth - camera.position.x;
-        float startY = (float)Math.floor(camera.position.y / gridHeight) * gridHeight - camera.position.y;
-
-        for (int column = 0; column <= numYLines; column++){
-            g2.draw(new Line2D.Float(startX, 0, startX, bottom));
-            startX += gridWidth;
+        float cameraX = camera.interpolatedX(renderer.getInterpolation());
+        float cameraY = camera.interpolatedY(renderer.getInterpolation());
+
+        // La grille s'arrête au niveau du sol
+        int bottom = (int)Math.min(Constants.GROUND_Y - cameraY, Constants.HEIGHT);
+        if (bottom <= 0) return;
+
+        // Décalage de la caméra dans une case, arrondi comme le serait la position d'une ligne
+        int offsetX = (int)Math.ceil(cameraX - (float)Math.floor(cameraX / gridWidth) * gridWidth);
+        int offsetY = (int)Math.ceil(cameraY - (float)Math.floor(cameraY / gridHeight) * gridHeight);
+
+        BufferedImage grid = gridImage();
+        g2.drawImage(grid, 0, 0, Constants.WIDTH, bottom,
+                offsetX, offsetY, offsetX + Constants.WIDTH, offsetY + bottom, null);
+        if (bottom < Constants.HEIGHT){
+            // Extrémité des lignes verticales sur le sol : une ligne de l'image sans ligne horizontale
+            g2.drawImage(grid, 0, bottom, Constants.WIDTH, bottom + 1,
+                    offsetX, 1, offsetX + Constants.WIDTH, 2, null);
         }
+    }
 
-        for (int row = 0; row <= numXLines; row++){
-            if (camera.position.y + startY < Constants.GROUND_Y){
-                g2.draw(new Line2D.Float(0, startY, Constants.WIDTH, startY));
-                startY += gridHeight;
+    /**
+     * Retourne l'image de la grille, en la dessinant la première fois : des lignes tous les
+     * gridWidth et gridHeight pixels, sur une case de plus que l'écran dans chaque direction.
+     * 
+     * @return L'image de la grille
+     */
+    private BufferedImage gridImage(){
+        if (image == null){
+            int width = Constants.WIDTH + gridWidth;
+            int height = Constants.HEIGHT + gridHeight;
+            image = AssetPool.createCompatible(width, height);
+
+            Graphics2D g2 = image.createGraphics();
+            g2.setStroke(new BasicStroke(1f));
+            g2.setColor(LINE_COLOR);
+            for (int x = 0; x < width; x += gridWidth){
+                g2.drawLine(x, 0, x, height - 1);
+            }
+            for (int y = 0; y < height; y += gridHeight){
+                g2.drawLine(0, y, width - 1, y);
             }
+            g2.dispose();
         }
-    }    
+        return image;
+    }
 
     /**
      * Crée une copie de la grille.
@@ -1,5 +1,6 @@
 package Component;
 
+import dataStructure.Transform;
 import engine.*;
 import util.Constants;
 
@@ -47,8 +48,19 @@ public class Ground extends Component {
      */
     @Override
     public void draw(Graphics2D g2){
+        draw(g2, gameObject.transform);
+    }
+
+    /**
+     * Dessine le sol à la transformation donnée.
+     * 
+     * @param g2 L'objet Graphics2D utilisé pour dessiner le sol.
+     * @param transform La transformation à utiliser.
+     */
+    @Override
+    public void draw(Graphics2D g2, Transform transform){
         g2.setColor(Color.BLACK);
-        g2.fillRect((int)gameObject.transform.position.x - 10, (int)gameObject.transform.position.y, Constants.WIDTH + 20, 10);
+        g2.fillRect((int)transform.position.x - 10, (int)transform.position.y, Constants.WIDTH + 20, 10);
     }
 
     /**
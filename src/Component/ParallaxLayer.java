@@ -0,0 +1,166 @@
+package Component;
+
+import engine.Component;
+import engine.RenderSnapshot;
+import engine.Scene;
+import engine.Window;
+import dataStructure.AssetPool;
+import dataStructure.Transform;
+import util.Constants;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arrière-plan à défilement parallaxe : plusieurs couches d'images répétées horizontalement,
+ * chacune défilant à sa propre vitesse, dessinées de la plus lointaine à la plus proche.
+ *
+ * <p>Chaque couche est mise à la hauteur voulue une seule fois au chargement, puis répétée à
+ * l'écran à partir d'un décalage calculé modulo sa largeur : il n'y a ni objet par tuile, ni
+ * recherche de la tuile la plus à droite quand une tuile sort de l'écran.</p>
+ */
+public class ParallaxLayer extends Component {
+
+    /**
+     * Une couche de l'arrière-plan.
+     */
+    private static final class Strip {
+        /** Image de la couche, déjà à la taille d'affichage. */
+        final BufferedImage image;
+
+        /** Vitesse de défilement, en pixels par seconde. */
+        final float speed;
+
+        /** Si true, la couche est posée sur le sol ; sinon elle part du haut de l'écran. */
+        final boolean followGround;
+
+        Strip(BufferedImage image, float speed, boolean followGround) {
+            this.image = image;
+            this.speed = speed;
+            this.followGround = followGround;
+        }
+    }
+
+    /** Couches, de la plus lointaine à la plus proche. */
+    private final List<Strip> strips = new ArrayList<>();
+
+    /** Le sol, qui sert de repère vertical. */
+    private final Ground ground;
+
+    /** Temps de défilement écoulé, en secondes, au tick courant et au tick précédent. */
+    private double elapsed = 0, previousElapsed = 0;
+
+    /**
+     * Crée un arrière-plan sans couche.
+     *
+     * @param ground Le sol de la scène.
+     */
+    public ParallaxLayer(Ground ground) {
+        this.ground = ground;
+    }
+
+    /**
+     * Ajoute une couche au-dessus des précédentes.
+     *
+     * @param file Chemin de l'image de la couche.
+     * @param speed Vitesse de défilement, en pixels par seconde.
+     * @param height Hauteur d'affichage (l'image est étirée une fois si besoin).
+     * @param followGround Si true, la couche est posée sur le sol ; sinon elle part du haut de
+     *                     l'écran et la zone sous le sol est remplie de {@link Constants#GROUND_COLOR}.
+     */
+    public void addLayer(String file, float speed, int height, boolean followGround) {
+        Sprite sprite = AssetPool.getSprite(file);
+        BufferedImage image = sprite.image;
+        if (sprite.height != height) {
+            image = AssetPool.createCompatible(sprite.width, height);
+            Graphics2D g2 = image.createGraphics();
+            g2.drawImage(sprite.image, 0, 0, sprite.width, height, null);
+            g2.dispose();
+        }
+        strips.add(new Strip(image, speed, followGround));
+    }
+
+    /**
+     * Fait défiler les couches.
+     *
+     * @param dt Le temps écoulé depuis la dernière mise à jour.
+     */
+    @Override
+    public void update(double dt) {
+        previousElapsed = elapsed;
+        elapsed += dt;
+    }
+
+    /**
+     * Dessine l'arrière-plan (rendu mono-thread). Le défilement et la caméra sont interpolés
+     * entre les deux derniers ticks, comme les objets dessinés par le renderer.
+     *
+     * @param g2 Contexte graphique utilisé pour le dessin.
+     */
+    @Override
+    public void draw(Graphics2D g2) {
+        Scene scene = Window.getWindow().getCurrentScene();
+        float alpha = scene.getRenderer().getInterpolation();
+        float groundY = ground.gameObject.transform.position.y - scene.camera.interpolatedY(alpha);
+        drawStrips(g2, groundY, previousElapsed + (elapsed - previousElapsed) * alpha);
+    }
+
+    /**
+     * Copie dans l'instantané le temps de défilement et la position du sol, dessinée comme un
+     * objet du monde : le thread de rendu la reçoit interpolée et décalée par la caméra.
+     *
+     * @param snapshot L'instantané en cours de capture.
+     */
+    @Override
+    public void capture(RenderSnapshot snapshot) {
+        snapshot.addComponent(this, ground.gameObject.transform, false, elapsed, previousElapsed);
+    }
+
+    /**
+     * Dessine l'arrière-plan depuis un instantané (rendu multi-thread).
+     *
+     * @param g2 Contexte graphique utilisé pour le dessin.
+     * @param transform Position du sol à l'écran.
+     * @param value Temps de défilement interpolé.
+     */
+    @Override
+    public void draw(Graphics2D g2, Transform transform, double value) {
+        drawStrips(g2, transform.position.y, value);
+    }
+
+    /**
+     * Dessine les couches, chacune répétée sur toute la largeur de l'écran. Ne lit que ses
+     * arguments et les couches, fixées au chargement.
+     *
+     * @param g2 Contexte graphique utilisé pour le dessin.
+     * @param groundY Ordonnée du sol à l'écran.
+     * @param elapsed Temps de défilement, en secondes.
+     */
+    private void drawStrips(Graphics2D g2, float groundY, double elapsed) {
+        for (Strip strip : strips) {
+            int width = strip.image.getWidth();
+            float offset = (float)((elapsed * strip.speed) % width);
+            int y = strip.followGround ? (int)groundY : 0;
+            for (float x = -offset; x < Constants.WIDTH; x += width) {
+                g2.drawImage(strip.image, (int)x, y, null);
+            }
+
+            if (!strip.followGround) {
+                g2.setColor(Constants.GROUND_COLOR);
+                g2.fillRect(0, (int)Math.min(groundY, Constants.HEIGHT), Constants.WIDTH, Constants.HEIGHT);
+            }
+        }
+    }
+
+    @Override
+    public Component copy() {
+        return null;
+    }
+
+    @Override
+    public String serialize(int tabSize) {
+        return "";
+    }
+}
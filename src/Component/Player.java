@@ -1,5 +1,6 @@
 package Component;
 
+import dataStructure.Transform;
 import engine.Component;
 import util.Constants;
 import util.Vector2;
@@ -30,6 +31,12 @@ public class Player extends Component {
     /** Indique si le joueur est au sol. */
     public boolean onGround = true;
 
+    /** Icône composée des trois couches, tournée par pas de {@link PlayerIcon#ROTATION_STEP} degrés. */
+    private final PlayerIcon icon;
+
+    /** Transformation affine réutilisée pour dessiner le joueur mis à l'échelle. */
+    private final AffineTransform drawTransform = new AffineTransform();
+
     /**
      * Constructeur de la classe {@code Player}.
      *
@@ -49,24 +56,8 @@ public class Player extends Component {
         this.colorOne = colorOne;
         this.colorTwo = colorTwo;
 
-        int threshold = 200;
-        for (int y=0; y < layerOne.image.getWidth(); y++) {
-            for (int x=0; x < layerOne.image.getHeight(); x++) {
-                Color color = new Color(layerOne.image.getRGB(x, y));
-                if (color.getRed() > threshold && color.getGreen() > threshold && color.getBlue() > threshold) {
-                    layerOne.image.setRGB(x, y, colorOne.getRGB());
-                }
-            }
-        }
-
-        for (int y=0; y < layerTwo.image.getWidth(); y++) {
-            for (int x=0; x < layerTwo.image.getHeight(); x++) {
-                Color color = new Color(layerTwo.image.getRGB(x, y));
-                if (color.getRed() > threshold && color.getGreen() > threshold && color.getBlue() > threshold) {
-                    layerTwo.image.setRGB(x, y, colorTwo.getRGB());
-                }
-            }
-        }
+        // Couches recolorées et superposées une seule fois, partagées entre les scènes
+        this.icon = PlayerIcon.get(layerOne, layerTwo, layerThree, colorOne, colorTwo);
     }
 
     /**
@@ -76,7 +67,7 @@ public class Player extends Component {
      */
     @Override
     public void update(double deltaTime) {
-        if (onGround && Window.getWindow().keyListener.isKeyPressed(KeyEvent.VK_SPACE)) {
+        if (onGround && Window.getWindow().input.isKeyPressed(KeyEvent.VK_SPACE)) {
             addJumpForce();
             this.onGround = false;
         }
@@ -106,7 +97,9 @@ public class Player extends Component {
     public void die() {
         gameObject.transform.position.x = 0;
         gameObject.transform.position.y = 30;
+        gameObject.transform.storePreviousPosition();
         Window.getWindow().getCurrentScene().camera.position.x = 0;
+        Window.getWindow().getCurrentScene().camera.storePreviousPosition();
     }
 
     /**
@@ -116,14 +109,29 @@ public class Player extends Component {
      */
     @Override
     public void draw(Graphics2D g2){
-        AffineTransform transform = new AffineTransform();
+        draw(g2, gameObject.transform);
+    }
+
+    /**
+     * Dessine le joueur à la transformation donnée.
+     *
+     * @param g2 Contexte graphique utilisé pour le dessin
+     * @param t Transformation à utiliser
+     */
+    @Override
+    public void draw(Graphics2D g2, Transform t){
+        if (t.scale.x == 1 && t.scale.y == 1) {
+            // Cas courant : une seule copie de l'icône déjà tournée
+            icon.draw(g2, t.position.x, t.position.y, t.rotation);
+            return;
+        }
+
+        AffineTransform transform = drawTransform;
         transform.setToIdentity();
-        transform.translate(gameObject.transform.position.x, gameObject.transform.position.y);
-        transform.rotate(gameObject.transform.rotation, width * gameObject.transform.scale.x / 2, height* gameObject.transform.scale.y /2);
-        transform.scale(gameObject.transform.scale.x, gameObject.transform.scale.y);
-        g2.drawImage(layerOne.image, transform, null);
-        g2.drawImage(layerTwo.image, transform, null);
-        g2.drawImage(layerThree.image, transform, null);
+        transform.translate(t.position.x, t.position.y);
+        transform.rotate(t.rotation, width * t.scale.x / 2, height * t.scale.y / 2);
+        transform.scale(t.scale.x, t.scale.y);
+        g2.drawImage(icon.composite, transform, null);
     }
 
     /**
@@ -146,4 +154,4 @@ public class Player extends Component {
     public String serialize(int tabSize){
         return "";
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package Component;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import dataStructure.AssetPool;
+
+/**
+ * Icône du joueur pré-composée : les trois couches recolorées et superposées une seule fois
+ * par jeu de couleurs, puis tournées à la demande par pas de {@link #ROTATION_STEP} degrés.
+ *
+ * <p>Dessiner le joueur revient alors à une seule copie d'image, sans transformation. Les
+ * images des sprites ne sont jamais modifiées : la recoloration se fait sur une copie. Les
+ * icônes sont partagées entre les scènes qui utilisent les mêmes couches et couleurs.</p>
+ */
+public class PlayerIcon {
+
+    /** Écart entre deux rotations mises en cache, en degrés. */
+    public static final int ROTATION_STEP = 1;
+
+    /** Nombre de rotations mises en cache. */
+    private static final int BUCKETS = 360 / ROTATION_STEP;
+
+    /** Une composante est remplacée par la couleur du joueur si R, G et B dépassent ce seuil. */
+    private static final int THRESHOLD = 200;
+
+    /** Icônes déjà composées, par couches et couleurs. */
+    private static final Map<Key, PlayerIcon> icons = new HashMap<>();
+
+    /**
+     * Identifie une icône : les images des trois couches et les deux couleurs.
+     */
+    private static final class Key {
+        final BufferedImage one, two, three;
+        final Color colorOne, colorTwo;
+
+        Key(BufferedImage one, BufferedImage two, BufferedImage three, Color colorOne, Color colorTwo) {
+            this.one = one;
+            this.two = two;
+            this.three = three;
+            this.colorOne = colorOne;
+            this.colorTwo = colorTwo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key)o;
+            return k.one == one && k.two == two && k.three == three &&
+                k.colorOne.equals(colorOne) && k.colorTwo.equals(colorTwo);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(one), System.identityHashCode(two),
+                System.identityHashCode(three), colorOne, colorTwo);
+        }
+    }
+
+    /** Les trois couches superposées, sans rotation. */
+    public final BufferedImage composite;
+
+    /** Largeur et hauteur de l'icône sans rotation. */
+    public final int width, height;
+
+    /** Côté des images tournées, assez grand pour contenir l'icône sous tous les angles. */
+    private final int rotatedSize;
+
+    /** Icône tournée de chaque pas de rotation (créées au premier besoin). */
+    private final BufferedImage[] rotated = new BufferedImage[BUCKETS];
+
+    /**
+     * Retourne l'icône des couches et couleurs données, en la composant la première fois.
+     *
+     * @param layerOne Sprite de la première couche (recolorée avec colorOne)
+     * @param layerTwo Sprite de la deuxième couche (recolorée avec colorTwo)
+     * @param layerThree Sprite de la troisième couche
+     * @param colorOne Première couleur
+     * @param colorTwo Deuxième couleur
+     * @return L'icône composée.
+     */
+    public static PlayerIcon get(Sprite layerOne, Sprite layerTwo, Sprite layerThree, Color colorOne, Color colorTwo) {
+        Key key = new Key(layerOne.image, layerTwo.image, layerThree.image, colorOne, colorTwo);
+        return icons.computeIfAbsent(key, k -> new PlayerIcon(layerOne, layerTwo, layerThree, colorOne, colorTwo));
+    }
+
+    /**
+     * Compose les trois couches dans une seule image.
+     */
+    private PlayerIcon(Sprite layerOne, Sprite layerTwo, Sprite layerThree, Color colorOne, Color colorTwo) {
+        this.width = layerOne.image.getWidth();
+        this.height = layerOne.image.getHeight();
+        this.rotatedSize = (int)Math.ceil(Math.hypot(width, height));
+
+        composite = AssetPool.createCompatible(width, height);
+        Graphics2D g2 = composite.createGraphics();
+        g2.drawImage(recolor(layerOne.image, colorOne), 0, 0, null);
+        g2.drawImage(recolor(layerTwo.image, colorTwo), 0, 0, null);
+        g2.drawImage(layerThree.image, 0, 0, null);
+        g2.dispose();
+        rotated[0] = composite;
+    }
+
+    /**
+     * Copie une couche en remplaçant ses pixels clairs par la couleur donnée.
+     *
+     * @param image La couche (non modifiée).
+     * @param color La couleur à appliquer.
+     * @return La copie recolorée.
+     */
+    private static BufferedImage recolor(BufferedImage image, Color color) {
+        int w = image.getWidth(), h = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, w, h, null, 0, w);
+        int rgb = color.getRGB();
+        for (int i = 0; i < pixels.length; i++) {
+            int p = pixels[i];
+            if (((p >> 16) & 0xFF) > THRESHOLD && ((p >> 8) & 0xFF) > THRESHOLD && (p & 0xFF) > THRESHOLD) {
+                pixels[i] = rgb;
+            }
+        }
+        BufferedImage copy = AssetPool.createCompatible(w, h);
+        copy.setRGB(0, 0, w, h, pixels, 0, w);
+        return copy;
+    }
+
+    /**
+     * Dessine l'icône tournée autour de son centre, arrondie au pas de rotation le plus proche.
+     *
+     * @param g2 Contexte graphique
+     * @param x Abscisse du coin supérieur gauche de l'icône non tournée
+     * @param y Ordonnée du coin supérieur gauche de l'icône non tournée
+     * @param rotation Rotation en radians
+     */
+    public void draw(Graphics2D g2, float x, float y, float rotation) {
+        int bucket = Math.floorMod(Math.round((float)Math.toDegrees(rotation) / ROTATION_STEP), BUCKETS);
+        if (bucket == 0) {
+            g2.drawImage(composite, (int)x, (int)y, null);
+            return;
+        }
+        BufferedImage image = rotated[bucket];
+        if (image == null) {
+            image = rotate(bucket * ROTATION_STEP);
+            rotated[bucket] = image;
+        }
+        g2.drawImage(image, (int)Math.floor(x - (rotatedSize - width) / 2.0f),
+            (int)Math.floor(y - (rotatedSize - height) / 2.0f), null);
+    }
+
+    /**
+     * Crée l'icône tournée d'un angle donné, centrée dans une image de {@link #rotatedSize}.
+     *
+     * @param degrees L'angle, en degrés.
+     * @return L'image tournée.
+     */
+    private BufferedImage rotate(int degrees) {
+        BufferedImage image = AssetPool.createCompatible(rotatedSize, rotatedSize);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.setComposite(AlphaComposite.SrcOver);
+        g2.rotate(Math.toRadians(degrees), rotatedSize / 2.0, rotatedSize / 2.0);
+        g2.drawImage(composite, (rotatedSize - width) / 2, (rotatedSize - height) / 2, null);
+        g2.dispose();
+        return image;
+    }
+}
@@ -5,6 +5,7 @@ import util.Vector2;
 import engine.GameObject;
 import dataStructure.Transform;
 import engine.Component;
+import engine.RenderSnapshot;
 
 
 /**
@@ -29,6 +30,15 @@ public class RigidBody extends Component {
         this.velocity = vel;
     }
 
+    /**
+     * Le corps rigide n'est pas dessiné : rien n'est ajouté à l'instantané du thread de rendu.
+     * 
+     * @param snapshot L'instantané en cours de capture.
+     */
+    @Override
+    public void capture(RenderSnapshot snapshot){
+    }
+
     /**
      * Met à jour la position et la vélocité du corps rigide en fonction du temps écoulé.
      * 
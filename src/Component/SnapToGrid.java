@@ -2,6 +2,7 @@ package Component;
 
 import engine.Component;
 import engine.GameObject;
+import engine.Scene;
 import engine.Window;
 import util.Constants;
 import util.Vector2;
@@ -51,19 +52,33 @@ public class SnapToGrid extends Component{
         debounceLeft -= deltaTime;
         
         if (this.gameObject.getComponent(Sprite.class) != null) {
-            float x = (float)Math.floor((Window.getWindow().mouseListener.x + Window.getWindow().getCurrentScene().camera.position.x + Window.getWindow().mouseListener.dx) / gridWidth);
-            float y = (float)Math.floor((Window.getWindow().mouseListener.y + Window.getWindow().getCurrentScene().camera.position.y + Window.getWindow().mouseListener.dy) / gridHeight);
+            float x = (float)Math.floor((Window.getWindow().input.x + Window.getWindow().getCurrentScene().camera.position.x + Window.getWindow().input.dx) / gridWidth);
+            float y = (float)Math.floor((Window.getWindow().input.y + Window.getWindow().getCurrentScene().camera.position.y + Window.getWindow().input.dy) / gridHeight);
             this.gameObject.transform.position.x = x * gridWidth - Window.getWindow().getCurrentScene().camera.position.x;
             this.gameObject.transform.position.y = y * gridHeight - Window.getWindow().getCurrentScene().camera.position.y;
 
-            if (Window.getWindow().mouseListener.y < Constants.BUTTON_OFFSET_Y &&
-                Window.getWindow().mouseListener.mousePressed && Window.getWindow().mouseListener.mouseButton == MouseEvent.BUTTON1 && debounceLeft < 0.0f){
+            if (Window.getWindow().input.y < Constants.BUTTON_OFFSET_Y &&
+                Window.getWindow().input.mousePressed && Window.getWindow().input.mouseButton == MouseEvent.BUTTON1 && debounceLeft < 0.0f){
                 debounceLeft = debounceTime;
                 GameObject object = gameObject.copy();
                 object.transform.position = new Vector2(x * gridWidth, y * gridHeight);
+                object.setStatic(true);
                 Window.getWindow().getCurrentScene().addGameObject(object);
             }
         }
+
+        // Clic droit : supprime le bloc sous le curseur
+        if (Window.getWindow().input.y < Constants.BUTTON_OFFSET_Y &&
+            Window.getWindow().input.mousePressed && Window.getWindow().input.mouseButton == MouseEvent.BUTTON3 && debounceLeft < 0.0f){
+            debounceLeft = debounceTime;
+            Scene scene = Window.getWindow().getCurrentScene();
+            float x = (float)Math.floor((Window.getWindow().input.x + scene.camera.position.x + Window.getWindow().input.dx) / gridWidth);
+            float y = (float)Math.floor((Window.getWindow().input.y + scene.camera.position.y + Window.getWindow().input.dy) / gridHeight);
+            GameObject placed = scene.getStaticObjectAt(x * gridWidth, y * gridHeight);
+            if (placed != null){
+                scene.removeGameObject(placed);
+            }
+        }
     }
 
     @Override
@@ -1,7 +1,10 @@
 package Component;
 
 import dataStructure.AssetPool;
+import dataStructure.TextureAtlas;
+import dataStructure.Transform;
 import engine.Component;
+import engine.RenderSnapshot;
 import file.*;
 
 import java.awt.Graphics2D;
@@ -32,6 +35,9 @@ public class Sprite extends Component {
     /** Ligne et colonne de la sous-image dans une spritesheet, ainsi que son index. */
     public int row, column, index;
 
+    /** Emplacement de l'image dans un atlas de textures (null pour dessiner {@link #image}). */
+    public TextureAtlas.Region region = null;
+
     /**
      * Constructeur principal pour créer un sprite à partir d'un fichier image.
      * 
@@ -53,7 +59,11 @@ public class Sprite extends Component {
                 throw new IOException("File not found: " + file.getAbsolutePath());
             }
 
-            this.image = ImageIO.read(file);
+            BufferedImage decoded = ImageIO.read(file);
+            if (decoded == null) {
+                throw new IOException("Unsupported image format: " + file.getAbsolutePath());
+            }
+            this.image = AssetPool.toCompatible(decoded);
             this.width = image.getWidth();
             this.height = image.getHeight();
         } catch (IOException e) {
@@ -102,11 +112,45 @@ public class Sprite extends Component {
      */
     @Override
     public void draw(Graphics2D g2) {
-        g2.drawImage(image, (int) gameObject.transform.position.x, 
-                    (int) gameObject.transform.position.y,
+        draw(g2, gameObject.transform);
+    }
+
+    /**
+     * Dessine le sprite à la transformation donnée.
+     * 
+     * @param g2 Le contexte graphique utilisé pour dessiner.
+     * @param transform La transformation à utiliser.
+     */
+    @Override
+    public void draw(Graphics2D g2, Transform transform) {
+        if (region != null) {
+            // Copie de la zone de l'atlas qui contient l'image
+            int x = (int) transform.position.x;
+            int y = (int) transform.position.y;
+            g2.drawImage(region.page, x, y, x + width, y + height,
+                        region.x, region.y, region.x + region.width, region.y + region.height, null);
+            return;
+        }
+        g2.drawImage(image, (int) transform.position.x, 
+                    (int) transform.position.y,
                     width, height, null);
     }
 
+    /**
+     * Copie dans l'instantané l'image à dessiner (la page de l'atlas et la zone du sprite, ou son
+     * image) et sa taille d'affichage.
+     * 
+     * @param snapshot L'instantané en cours de capture.
+     */
+    @Override
+    public void capture(RenderSnapshot snapshot) {
+        if (region != null) {
+            snapshot.addImage(gameObject, region.page, region.x, region.y, region.width, region.height, width, height);
+        } else {
+            snapshot.addImage(gameObject, image, 0, 0, image.getWidth(), image.getHeight(), width, height);
+        }
+    }
+
     /**
      * Crée une copie du sprite.
      * 
@@ -114,10 +158,13 @@ public class Sprite extends Component {
      */
     @Override
     public Component copy() {
+        Sprite copy;
         if (!isSubsprite)
-            return new Sprite(this.image, pictureFile);
+            copy = new Sprite(this.image, pictureFile);
         else
-            return new Sprite(this.image, this.row, this.column, this.index, pictureFile);
+            copy = new Sprite(this.image, this.row, this.column, this.index, pictureFile);
+        copy.region = this.region;
+        return copy;
     }
 
     /**
@@ -52,7 +52,8 @@ public class Spritesheet {
                 int imgX = i * (tileWidth + spacing);
                 int imgY = row * (tileHeight + spacing);
 
-                sprites.add(new Sprite(parent.image.getSubimage(imgX, imgY, tileWidth, tileHeight), row, i, count, pictureFile));
+                BufferedImage tile = AssetPool.toCompatible(parent.image.getSubimage(imgX, imgY, tileWidth, tileHeight));
+                sprites.add(new Sprite(tile, row, i, count, pictureFile));
                 count++;
 
                 if (count > size - 1) {
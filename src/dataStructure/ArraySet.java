@@ -0,0 +1,136 @@
+package dataStructure;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Ensemble d'éléments (comparés par identité) gardés dans l'ordre d'ajout, dans un tableau.
+ *
+ * <p>L'ajout, le test d'appartenance et le retrait se font en temps constant : un élément
+ * retiré laisse un trou, et les trous sont supprimés en une passe quand ils deviennent plus
+ * nombreux que les éléments. Le parcours reste un simple parcours de tableau, aussi rapide que
+ * celui d'une {@link java.util.ArrayList}.</p>
+ *
+ * @param <T> Le type des éléments.
+ */
+public class ArraySet<T> extends AbstractCollection<T> {
+
+    /** Éléments dans l'ordre d'ajout, null pour un élément retiré. */
+    private Object[] items = new Object[16];
+
+    /** Nombre de cases utilisées dans {@link #items}, trous compris. */
+    private int length = 0;
+
+    /** Nombre d'éléments. */
+    private int size = 0;
+
+    /** Case de chaque élément dans {@link #items}. */
+    private final Map<T, Integer> indices = new IdentityHashMap<>();
+
+    @Override
+    public boolean add(T item) {
+        if (indices.containsKey(item)) return false;
+        if (length == items.length) {
+            if (size < length / 2) {
+                compact();
+            } else {
+                items = Arrays.copyOf(items, items.length * 2);
+            }
+        }
+        indices.put(item, length);
+        items[length++] = item;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object item) {
+        Integer index = indices.remove(item);
+        if (index == null) return false;
+        items[index] = null;
+        size--;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object item) {
+        return indices.containsKey(item);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(items, 0, length, null);
+        indices.clear();
+        length = 0;
+        size = 0;
+    }
+
+    /**
+     * Supprime les trous laissés par les retraits, sans changer l'ordre des éléments.
+     */
+    @SuppressWarnings("unchecked")
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (items[i] != null) {
+                items[kept] = items[i];
+                indices.put((T)items[kept], kept);
+                kept++;
+            }
+        }
+        Arrays.fill(items, kept, length, null);
+        length = kept;
+    }
+
+    /**
+     * Parcourt les éléments dans l'ordre d'ajout. Les éléments peuvent être retirés pendant le
+     * parcours, mais pas ajoutés (un ajout peut tasser le tableau).
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = skipHoles(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                next = skipHoles(next);
+                return next < length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                last = next++;
+                return (T)items[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0 || items[last] == null) throw new IllegalStateException();
+                ArraySet.this.remove(items[last]);
+            }
+        };
+    }
+
+    /**
+     * @param from Première case à examiner.
+     * @return La première case non vide à partir de from, ou {@link #length}.
+     */
+    private int skipHoles(int from) {
+        while (from < length && items[from] == null) {
+            from++;
+        }
+        return from;
+    }
+}
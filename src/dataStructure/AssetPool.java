@@ -1,5 +1,11 @@
 package dataStructure;
 
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,6 +22,52 @@ public class AssetPool {
     static Map<String, Sprite> sprites = new HashMap<>();
     static Map<String, Spritesheet> spritesheets = new HashMap<>();
 
+    /**
+     * Copie une image dans le format le plus rapide à dessiner : celui de l'écran, ou
+     * TYPE_INT_ARGB_PRE (prémultiplié) sans affichage. Le décodeur PNG produit des images
+     * TYPE_4BYTE_ABGR qui doivent être converties pixel par pixel à chaque drawImage ; une
+     * sous-image est aussi copiée dans sa propre image, indépendante de la spritesheet.
+     * 
+     * @param image L'image chargée.
+     * @return Une copie de l'image au format de l'écran.
+     */
+    public static BufferedImage toCompatible(BufferedImage image) {
+        BufferedImage copy = createCompatible(image.getWidth(), image.getHeight(), image.getTransparency());
+        Graphics2D g2 = copy.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        g2.drawImage(image, 0, 0, null);
+        g2.dispose();
+        return copy;
+    }
+
+    /**
+     * Crée une image transparente vide au format de l'écran (voir {@link #toCompatible}).
+     * 
+     * @param width La largeur de l'image.
+     * @param height La hauteur de l'image.
+     * @return L'image créée.
+     */
+    public static BufferedImage createCompatible(int width, int height) {
+        return createCompatible(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Crée une image vide au format de l'écran, ou TYPE_INT_ARGB_PRE sans affichage.
+     * 
+     * @param width La largeur de l'image.
+     * @param height La hauteur de l'image.
+     * @param transparency La transparence de l'image (voir {@link Transparency}).
+     * @return L'image créée.
+     */
+    private static BufferedImage createCompatible(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, transparency);
+    }
+
     /**
      * Vérifie si un sprite existe dans le pool.
      * 
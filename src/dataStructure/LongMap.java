@@ -0,0 +1,138 @@
+package dataStructure;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage à clés {@code long} primitives, en adressage ouvert (sondage linéaire).
+ *
+ * <p>Contrairement à une {@code HashMap<Long, V>}, une recherche n'alloue rien : les clés ne
+ * sont jamais converties en {@link Long}. Les suppressions décalent les entrées suivantes au
+ * lieu de laisser des marqueurs, si bien que les recherches restent courtes même après de
+ * nombreux ajouts et retraits. Les valeurs ne peuvent pas être null.</p>
+ *
+ * @param <V> Le type des valeurs.
+ */
+class LongMap<V> {
+
+    /** Capacité initiale (puissance de deux). */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Clé de chaque case. */
+    private long[] keys = new long[INITIAL_CAPACITY];
+
+    /** Valeur de chaque case, null si la case est libre. */
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    /** Nombre d'entrées. */
+    private int size = 0;
+
+    /**
+     * Retourne la valeur associée à une clé.
+     *
+     * @param key La clé.
+     * @return La valeur, ou null si la clé est absente.
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int mask = values.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V)values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associe une valeur à une clé, en remplaçant l'ancienne valeur.
+     *
+     * @param key La clé.
+     * @param value La valeur (non null).
+     */
+    void put(long key, V value) {
+        if (2 * (size + 1) > values.length) {
+            grow();
+        }
+        int mask = values.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * Retire une clé.
+     *
+     * @param key La clé.
+     */
+    void remove(long key) {
+        int mask = values.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == null) return;
+
+        values[i] = null;
+        size--;
+        // Ramène dans le trou les entrées suivantes qui ne seraient plus trouvées
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!reachable) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                values[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    /**
+     * Vide la table.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Double la capacité et replace toutes les entrées.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        int mask = values.length - 1;
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] == null) continue;
+            int i = slot(oldKeys[j], mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    /**
+     * Case de départ d'une clé : les bits sont mélangés pour que des cellules voisines ne
+     * tombent pas dans des cases voisines.
+     *
+     * @param key La clé.
+     * @param mask Capacité moins un.
+     * @return L'index de la case.
+     */
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32)) & mask;
+    }
+}
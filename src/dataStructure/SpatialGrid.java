@@ -0,0 +1,382 @@
+package dataStructure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index spatial en grille uniforme : chaque élément est rangé dans toutes les cellules que
+ * couvre son rectangle, et une requête ne parcourt que les cellules qui intersectent la zone
+ * demandée. L'insertion, le déplacement et la suppression ne touchent que les cellules de
+ * l'élément, indépendamment du nombre total d'éléments : chaque entrée connaît sa place dans
+ * chacune de ses cellules, et un retrait la remplace par le dernier élément de la cellule.
+ *
+ * <p>Les requêtes rendent chaque élément une seule fois, même s'il couvre plusieurs cellules,
+ * et peuvent le faire dans l'ordre d'insertion (utile pour garder un ordre de dessin stable).</p>
+ *
+ * @param <T> Le type des éléments indexés (comparés par identité).
+ */
+public class SpatialGrid<T> {
+
+    /**
+     * Un élément indexé et la plage de cellules qu'il occupe.
+     *
+     * @param <T> Le type de l'élément.
+     */
+    private static final class Entry<T> {
+        final T item;
+        final long order;
+        int minX, minY, maxX, maxY;
+
+        /** Index de l'entrée dans chacune de ses cellules, colonne par colonne. */
+        int[] slots = new int[1];
+
+        Entry(T item, long order) {
+            this.item = item;
+            this.order = order;
+        }
+
+        /**
+         * Position d'une cellule de l'entrée dans {@link #slots}.
+         *
+         * @param cx Colonne de la cellule.
+         * @param cy Ligne de la cellule.
+         * @return L'index dans {@link #slots}.
+         */
+        int slot(int cx, int cy) {
+            return (cx - minX) * (maxY - minY + 1) + (cy - minY);
+        }
+    }
+
+    /**
+     * Le contenu d'une cellule, sans ordre particulier.
+     *
+     * @param <T> Le type des éléments.
+     */
+    private static final class Cell<T> {
+        @SuppressWarnings("unchecked")
+        Entry<T>[] entries = new Entry[4];
+        int size = 0;
+
+        /**
+         * Ajoute une entrée à la fin de la cellule.
+         *
+         * @return L'index de l'entrée dans la cellule.
+         */
+        int add(Entry<T> entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size] = entry;
+            return size++;
+        }
+
+        /**
+         * Retire l'entrée d'index donné en la remplaçant par la dernière.
+         *
+         * @param index Index de l'entrée à retirer.
+         * @return L'entrée déplacée à cet index, ou null si c'était la dernière.
+         */
+        Entry<T> removeAt(int index) {
+            size--;
+            Entry<T> last = entries[size];
+            entries[size] = null;
+            if (index == size) return null;
+            entries[index] = last;
+            return last;
+        }
+    }
+
+    /** Ordre d'insertion croissant des entrées. */
+    private static final Comparator<Entry<?>> INSERTION_ORDER = (a, b) -> Long.compare(a.order, b.order);
+
+    /** Taille d'une cellule, en pixels. */
+    private final int cellSize;
+
+    /**
+     * Contenu de chaque cellule non vide, indexé par ses coordonnées. Les clés restent des
+     * {@code long} primitifs : une requête n'alloue rien.
+     */
+    private final LongMap<Cell<T>> cells = new LongMap<>();
+
+    /** Entrée de chaque élément indexé. */
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    /** Entrées trouvées par la dernière requête triée (réutilisée pour éviter les allocations). */
+    private final List<Entry<T>> found = new ArrayList<>();
+
+    /** Prochain numéro d'ordre d'insertion. */
+    private long nextOrder = 0;
+
+    /**
+     * Crée une grille vide.
+     *
+     * @param cellSize Taille d'une cellule, en pixels.
+     */
+    public SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Ajoute un élément couvrant le rectangle donné. Un élément déjà présent est déplacé.
+     *
+     * @param item L'élément à indexer.
+     * @param x Abscisse du coin supérieur gauche.
+     * @param y Ordonnée du coin supérieur gauche.
+     * @param width Largeur du rectangle.
+     * @param height Hauteur du rectangle.
+     */
+    public void insert(T item, float x, float y, float width, float height) {
+        if (entries.containsKey(item)) {
+            move(item, x, y, width, height);
+            return;
+        }
+        Entry<T> entry = new Entry<>(item, nextOrder++);
+        setRange(entry, x, y, width, height);
+        entries.put(item, entry);
+        addToCells(entry);
+    }
+
+    /**
+     * Met à jour le rectangle d'un élément. Ne fait rien si l'élément reste dans les mêmes
+     * cellules ; conserve son ordre d'insertion.
+     *
+     * @param item L'élément déplacé.
+     * @param x Nouvelle abscisse du coin supérieur gauche.
+     * @param y Nouvelle ordonnée du coin supérieur gauche.
+     * @param width Largeur du rectangle.
+     * @param height Hauteur du rectangle.
+     * @return true si l'élément est indexé, false sinon.
+     */
+    public boolean move(T item, float x, float y, float width, float height) {
+        Entry<T> entry = entries.get(item);
+        if (entry == null) return false;
+
+        int minX = cell(x), minY = cell(y);
+        int maxX = cell(x + width), maxY = cell(y + height);
+        if (minX == entry.minX && minY == entry.minY && maxX == entry.maxX && maxY == entry.maxY) {
+            return true;
+        }
+        removeFromCells(entry);
+        setRange(entry, x, y, width, height);
+        addToCells(entry);
+        return true;
+    }
+
+    /**
+     * Retire un élément de la grille.
+     *
+     * @param item L'élément à retirer.
+     * @return true si l'élément était indexé.
+     */
+    public boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry == null) return false;
+        removeFromCells(entry);
+        return true;
+    }
+
+    /**
+     * Indique si un élément est indexé.
+     *
+     * @param item L'élément cherché.
+     * @return true si l'élément est dans la grille.
+     */
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Retourne le numéro d'ordre d'insertion d'un élément : les requêtes triées rendent les
+     * éléments par numéro croissant.
+     *
+     * @param item L'élément.
+     * @return Son numéro d'ordre, ou -1 s'il n'est pas indexé.
+     */
+    public long orderOf(T item) {
+        Entry<T> entry = entries.get(item);
+        return entry != null ? entry.order : -1;
+    }
+
+    /**
+     * Retourne le numéro d'ordre que recevra le prochain élément inséré : tous les éléments
+     * déjà indexés ont un numéro plus petit.
+     *
+     * @return Le prochain numéro d'ordre.
+     */
+    public long nextOrder() {
+        return nextOrder;
+    }
+
+    /**
+     * @return Le nombre d'éléments indexés.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ajoute à la liste, une seule fois chacun, les éléments des cellules qui intersectent le
+     * rectangle donné, dans un ordre quelconque. Les éléments retournés peuvent dépasser du
+     * rectangle (le test est fait à la précision des cellules).
+     *
+     * @param x Abscisse du coin supérieur gauche de la zone.
+     * @param y Ordonnée du coin supérieur gauche de la zone.
+     * @param width Largeur de la zone.
+     * @param height Hauteur de la zone.
+     * @param out Liste qui reçoit les éléments trouvés.
+     */
+    public void query(float x, float y, float width, float height, List<? super T> out) {
+        int minX = cell(x), minY = cell(y);
+        int maxX = cell(x + width), maxY = cell(y + height);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Cell<T> content = cells.get(key(cx, cy));
+                if (content == null) continue;
+                for (int i = 0; i < content.size; i++) {
+                    Entry<T> e = content.entries[i];
+                    // Un élément n'est rendu que par la première de ses cellules dans la zone
+                    if (cx == Math.max(e.minX, minX) && cy == Math.max(e.minY, minY)) {
+                        out.add(e.item);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Comme {@link #query(float, float, float, float, List)}, mais ajoute les éléments dans
+     * leur ordre d'insertion.
+     *
+     * @param x Abscisse du coin supérieur gauche de la zone.
+     * @param y Ordonnée du coin supérieur gauche de la zone.
+     * @param width Largeur de la zone.
+     * @param height Hauteur de la zone.
+     * @param out Liste qui reçoit les éléments trouvés.
+     */
+    public void queryOrdered(float x, float y, float width, float height, List<? super T> out) {
+        queryOrdered(x, y, width, height, Long.MIN_VALUE, Long.MAX_VALUE, out);
+    }
+
+    /**
+     * Comme {@link #queryOrdered(float, float, float, float, List)}, en ne gardant que les
+     * éléments dont le numéro d'ordre est dans l'intervalle donné.
+     *
+     * @param x Abscisse du coin supérieur gauche de la zone.
+     * @param y Ordonnée du coin supérieur gauche de la zone.
+     * @param width Largeur de la zone.
+     * @param height Hauteur de la zone.
+     * @param fromOrder Plus petit numéro d'ordre gardé.
+     * @param toOrder Numéro d'ordre de fin (exclu).
+     * @param out Liste qui reçoit les éléments trouvés.
+     */
+    public void queryOrdered(float x, float y, float width, float height, long fromOrder, long toOrder,
+                             List<? super T> out) {
+        int minX = cell(x), minY = cell(y);
+        int maxX = cell(x + width), maxY = cell(y + height);
+        found.clear();
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Cell<T> content = cells.get(key(cx, cy));
+                if (content == null) continue;
+                for (int i = 0; i < content.size; i++) {
+                    Entry<T> e = content.entries[i];
+                    if (cx == Math.max(e.minX, minX) && cy == Math.max(e.minY, minY)
+                            && e.order >= fromOrder && e.order < toOrder) {
+                        found.add(e);
+                    }
+                }
+            }
+        }
+        found.sort(INSERTION_ORDER);
+        for (int i = 0; i < found.size(); i++) {
+            out.add(found.get(i).item);
+        }
+        found.clear();
+    }
+
+    /**
+     * Vide la grille.
+     */
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    /**
+     * Calcule la cellule qui contient une coordonnée.
+     *
+     * @param value La coordonnée, en pixels.
+     * @return L'index de la cellule.
+     */
+    private int cell(float value) {
+        return (int)Math.floor(value / cellSize);
+    }
+
+    /**
+     * Combine les coordonnées d'une cellule en une clé unique.
+     *
+     * @param cx Colonne de la cellule.
+     * @param cy Ligne de la cellule.
+     * @return La clé de la cellule.
+     */
+    private static long key(int cx, int cy) {
+        return ((long)cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Calcule la plage de cellules couverte par un rectangle.
+     */
+    private void setRange(Entry<T> entry, float x, float y, float width, float height) {
+        entry.minX = cell(x);
+        entry.minY = cell(y);
+        entry.maxX = cell(x + width);
+        entry.maxY = cell(y + height);
+    }
+
+    /**
+     * Ajoute une entrée dans toutes ses cellules.
+     */
+    private void addToCells(Entry<T> entry) {
+        int count = (entry.maxX - entry.minX + 1) * (entry.maxY - entry.minY + 1);
+        if (entry.slots.length < count) {
+            entry.slots = new int[count];
+        }
+        for (int cx = entry.minX; cx <= entry.maxX; cx++) {
+            for (int cy = entry.minY; cy <= entry.maxY; cy++) {
+                long key = key(cx, cy);
+                Cell<T> content = cells.get(key);
+                if (content == null) {
+                    content = new Cell<>();
+                    cells.put(key, content);
+                }
+                entry.slots[entry.slot(cx, cy)] = content.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Retire une entrée de toutes ses cellules en temps constant par cellule, et supprime les
+     * cellules devenues vides.
+     */
+    private void removeFromCells(Entry<T> entry) {
+        for (int cx = entry.minX; cx <= entry.maxX; cx++) {
+            for (int cy = entry.minY; cy <= entry.maxY; cy++) {
+                long key = key(cx, cy);
+                Cell<T> content = cells.get(key);
+                if (content == null) continue;
+                int index = entry.slots[entry.slot(cx, cy)];
+                Entry<T> moved = content.removeAt(index);
+                if (moved != null) {
+                    moved.slots[moved.slot(cx, cy)] = index;
+                }
+                if (content.size == 0) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package dataStructure;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fenêtre glissante sur des éléments triés par bord gauche (balayage et élagage sur l'axe x),
+ * pour les scènes où la zone d'intérêt avance vers la droite.
+ *
+ * <p>Les éléments sont rangés dans des tableaux triés par abscisse minimale, dans l'ordre où la
+ * fenêtre les parcourt. Un curseur avance sur ces tableaux au fil des requêtes : chaque élément
+ * entre dans la fenêtre une fois et en sort une fois, si bien qu'une requête ne coûte que le
+ * nombre d'éléments dans la fenêtre. Si la fenêtre recule (joueur ramené au début du niveau),
+ * elle est reconstruite par recherche dichotomique, sans parcourir les éléments précédents.</p>
+ *
+ * <p>Les ajouts et suppressions marquent les tableaux à retrier : ils le sont à la requête
+ * suivante, ce qui permet de charger un niveau entier pour le prix d'un seul tri.</p>
+ *
+ * @param <T> Le type des éléments (comparés par identité).
+ */
+public class SweepWindow<T> {
+
+    /**
+     * Un élément et son intervalle sur l'axe x.
+     *
+     * @param <T> Le type de l'élément.
+     */
+    private static final class Entry<T> {
+        final T item;
+        final long order;
+        final float minX, maxX;
+
+        Entry(T item, long order, float minX, float maxX) {
+            this.item = item;
+            this.order = order;
+            this.minX = minX;
+            this.maxX = maxX;
+        }
+    }
+
+    /** Entrée de chaque élément. */
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    /** Éléments triés par abscisse minimale (valides si {@link #sorted}). */
+    private Object[] items = new Object[0];
+
+    /** Abscisses minimale et maximale de chaque élément, dans le même ordre. */
+    private float[] minX = new float[0], maxX = new float[0];
+
+    /** Ordre d'ajout de chaque élément, dans le même ordre. */
+    private long[] order = new long[0];
+
+    /** Plus grande largeur d'un élément, pour reconstruire la fenêtre après un recul. */
+    private float maxWidth = 0;
+
+    /** Indique si les tableaux correspondent aux éléments. */
+    private boolean sorted = true;
+
+    /** Index du premier élément pas encore entré dans la fenêtre. */
+    private int cursor = 0;
+
+    /** Index des éléments dans la fenêtre, triés par ordre d'ajout. */
+    private int[] active = new int[16];
+
+    /** Nombre d'éléments dans la fenêtre. */
+    private int activeCount = 0;
+
+    /** Bord gauche de la dernière requête. */
+    private float windowMin = Float.NEGATIVE_INFINITY;
+
+    /** Prochain numéro d'ordre d'ajout. */
+    private long nextOrder = 0;
+
+    /**
+     * Ajoute un élément couvrant l'intervalle [minX, maxX]. Un élément déjà présent est déplacé
+     * et garde son ordre d'ajout.
+     *
+     * @param item L'élément.
+     * @param minX Abscisse du bord gauche.
+     * @param maxX Abscisse du bord droit.
+     */
+    public void insert(T item, float minX, float maxX) {
+        Entry<T> previous = entries.get(item);
+        long itemOrder = previous != null ? previous.order : nextOrder++;
+        entries.put(item, new Entry<>(item, itemOrder, minX, maxX));
+        sorted = false;
+    }
+
+    /**
+     * Retire un élément.
+     *
+     * @param item L'élément à retirer.
+     * @return true si l'élément était présent.
+     */
+    public boolean remove(T item) {
+        if (entries.remove(item) == null) return false;
+        sorted = false;
+        return true;
+    }
+
+    /**
+     * Retourne le numéro d'ordre d'ajout d'un élément : les requêtes rendent les éléments par
+     * numéro croissant.
+     *
+     * @param item L'élément.
+     * @return Son numéro d'ordre, ou -1 s'il n'est pas présent.
+     */
+    public long orderOf(T item) {
+        Entry<T> entry = entries.get(item);
+        return entry != null ? entry.order : -1;
+    }
+
+    /**
+     * @return Le nombre d'éléments.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Déplace la fenêtre sur [windowMin, windowMax] et ajoute à la liste, dans leur ordre
+     * d'ajout, les éléments dont l'intervalle touche la fenêtre.
+     *
+     * @param windowMin Bord gauche de la fenêtre.
+     * @param windowMax Bord droit de la fenêtre.
+     * @param out Liste qui reçoit les éléments trouvés.
+     */
+    @SuppressWarnings("unchecked")
+    public void query(float windowMin, float windowMax, List<? super T> out) {
+        if (!sorted) {
+            rebuild();
+        }
+        if (windowMin < this.windowMin) {
+            rewind(windowMin);
+        }
+        this.windowMin = windowMin;
+
+        // Sortie des éléments passés à gauche de la fenêtre
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            if (maxX[active[i]] >= windowMin) {
+                active[kept++] = active[i];
+            }
+        }
+        activeCount = kept;
+
+        // Entrée des éléments atteints par le bord droit
+        while (cursor < items.length && minX[cursor] <= windowMax) {
+            if (maxX[cursor] >= windowMin) {
+                activate(cursor);
+            }
+            cursor++;
+        }
+
+        for (int i = 0; i < activeCount; i++) {
+            out.add((T)items[active[i]]);
+        }
+    }
+
+    /**
+     * Vide la fenêtre et replace le curseur sur le premier élément qui peut toucher un bord
+     * gauche donné : tous ceux qui commencent plus d'une largeur maximale avant sont ignorés.
+     *
+     * @param windowMin Le nouveau bord gauche.
+     */
+    private void rewind(float windowMin) {
+        activeCount = 0;
+        float from = windowMin - maxWidth;
+        int low = 0, high = items.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (minX[mid] < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        cursor = low;
+    }
+
+    /**
+     * Ajoute un élément à la fenêtre en gardant l'ordre d'ajout.
+     *
+     * @param index Index de l'élément dans les tableaux triés.
+     */
+    private void activate(int index) {
+        if (activeCount == active.length) {
+            int[] grown = new int[active.length * 2];
+            System.arraycopy(active, 0, grown, 0, activeCount);
+            active = grown;
+        }
+        int i = activeCount;
+        while (i > 0 && order[active[i - 1]] > order[index]) {
+            active[i] = active[i - 1];
+            i--;
+        }
+        active[i] = index;
+        activeCount++;
+    }
+
+    /**
+     * Trie les éléments par abscisse minimale et recopie leurs intervalles dans les tableaux.
+     * La fenêtre est reconstruite à la requête suivante.
+     */
+    private void rebuild() {
+        List<Entry<T>> list = new ArrayList<>(entries.values());
+        list.sort((a, b) -> a.minX != b.minX ? Float.compare(a.minX, b.minX) : Long.compare(a.order, b.order));
+
+        int n = list.size();
+        items = new Object[n];
+        minX = new float[n];
+        maxX = new float[n];
+        order = new long[n];
+        maxWidth = 0;
+        for (int i = 0; i < n; i++) {
+            Entry<T> e = list.get(i);
+            items[i] = e.item;
+            minX[i] = e.minX;
+            maxX[i] = e.maxX;
+            order[i] = e.order;
+            maxWidth = Math.max(maxWidth, e.maxX - e.minX);
+        }
+        sorted = true;
+        windowMin = Float.POSITIVE_INFINITY;
+    }
+}
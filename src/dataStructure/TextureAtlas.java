@@ -0,0 +1,151 @@
+package dataStructure;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import Component.Sprite;
+
+/**
+ * Atlas de textures : regroupe les images de plusieurs sprites dans quelques grandes pages,
+ * pour que les objets d'un niveau soient dessinés depuis une même image source.
+ *
+ * <p>Les images sont rangées par étagères (triées par hauteur décroissante, de gauche à droite
+ * puis de haut en bas) dans des pages de {@link #PAGE_SIZE} pixels de côté ; une nouvelle page
+ * est créée quand la précédente est pleine. Chaque image distincte n'est copiée qu'une fois,
+ * même si elle est partagée par des milliers de sprites, et un atlas peut être complété au fur
+ * et à mesure que des sprites sont ajoutés (chaque scène garde le sien). L'atlas est une copie : une image
+ * modifiée après l'empaquetage n'y est pas mise à jour.</p>
+ */
+public class TextureAtlas {
+
+    /** Côté d'une page de l'atlas, en pixels. */
+    public static final int PAGE_SIZE = 1024;
+
+    /** Espace laissé autour de chaque image, pour qu'un filtrage ne déborde pas sur sa voisine. */
+    private static final int PADDING = 1;
+
+    /**
+     * Emplacement d'une image dans une page de l'atlas.
+     */
+    public static final class Region {
+        /** La page qui contient l'image. */
+        public final BufferedImage page;
+
+        /** Position et taille de l'image dans la page. */
+        public final int x, y, width, height;
+
+        Region(BufferedImage page, int x, int y, int width, int height) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /** Pages de l'atlas. */
+    public final List<BufferedImage> pages = new ArrayList<>();
+
+    /** Emplacement de chaque image empaquetée. */
+    private final Map<BufferedImage, Region> regions = new IdentityHashMap<>();
+
+    /** Étagère en cours de remplissage : position du prochain emplacement et hauteur. */
+    private int shelfX = 0, shelfY = 0, shelfHeight = 0;
+
+    /**
+     * Ajoute à l'atlas les images des sprites donnés qui n'y sont pas encore, et indique à
+     * chaque sprite son emplacement ({@link Sprite#region}). Les images déjà empaquetées ne sont
+     * pas recopiées : leurs sprites reçoivent l'emplacement existant. Les nouvelles images
+     * continuent de remplir l'étagère et la page en cours. Les images plus grandes qu'une page
+     * ne sont pas empaquetées : leurs sprites restent dessinés depuis leur propre image.
+     *
+     * @param sprites Les sprites à empaqueter.
+     */
+    public void add(List<Sprite> sprites) {
+        // Nouvelles images distinctes, les plus hautes d'abord pour remplir les étagères
+        Map<BufferedImage, Boolean> seen = new IdentityHashMap<>();
+        List<BufferedImage> images = new ArrayList<>();
+        for (Sprite sprite : sprites) {
+            if (!regions.containsKey(sprite.image) && seen.put(sprite.image, Boolean.TRUE) == null) {
+                images.add(sprite.image);
+            }
+        }
+        images.sort((a, b) -> Integer.compare(b.getHeight(), a.getHeight()));
+
+        Graphics2D g2 = null;
+        BufferedImage target = null;
+        for (BufferedImage image : images) {
+            if (image.getWidth() + 2 * PADDING > PAGE_SIZE || image.getHeight() + 2 * PADDING > PAGE_SIZE) {
+                continue;
+            }
+            Region region = place(image);
+            if (region.page != target) {
+                if (g2 != null) g2.dispose();
+                target = region.page;
+                g2 = target.createGraphics();
+                g2.setComposite(AlphaComposite.Src);
+            }
+            g2.drawImage(image, region.x, region.y, null);
+        }
+        if (g2 != null) g2.dispose();
+
+        for (Sprite sprite : sprites) {
+            sprite.region = regions.get(sprite.image);
+        }
+    }
+
+    /**
+     * Ajoute à l'atlas l'image d'un seul sprite (voir {@link #add(List)}).
+     *
+     * @param sprite Le sprite à empaqueter.
+     */
+    public void add(Sprite sprite) {
+        add(Collections.singletonList(sprite));
+    }
+
+    /**
+     * Réserve l'emplacement d'une image, en passant à l'étagère ou à la page suivante si besoin.
+     *
+     * @param image L'image à placer.
+     * @return Son emplacement.
+     */
+    private Region place(BufferedImage image) {
+        int width = image.getWidth() + 2 * PADDING;
+        int height = image.getHeight() + 2 * PADDING;
+
+        if (!pages.isEmpty() && shelfX + width > PAGE_SIZE) {
+            shelfY += shelfHeight;
+            shelfX = 0;
+            shelfHeight = 0;
+        }
+        if (pages.isEmpty() || shelfY + height > PAGE_SIZE) {
+            pages.add(AssetPool.createCompatible(PAGE_SIZE, PAGE_SIZE));
+            shelfX = 0;
+            shelfY = 0;
+            shelfHeight = 0;
+        }
+
+        Region region = new Region(pages.get(pages.size() - 1), shelfX + PADDING, shelfY + PADDING,
+                image.getWidth(), image.getHeight());
+        regions.put(image, region);
+        shelfX += width;
+        shelfHeight = Math.max(shelfHeight, height);
+        return region;
+    }
+
+    /**
+     * Retourne l'emplacement d'une image dans l'atlas.
+     *
+     * @param image L'image cherchée.
+     * @return Son emplacement, ou null si elle n'a pas été empaquetée.
+     */
+    public Region getRegion(BufferedImage image) {
+        return regions.get(image);
+    }
+}
@@ -27,6 +27,11 @@ public class Transform extends Serialize {
      */
     public float rotation;
 
+    /**
+     * La position au tick de simulation précédent, utilisée pour interpoler le rendu.
+     */
+    public Vector2 previousPosition;
+
     /**
      * Constructeur qui initialise la transformation avec une position donnée.
      * L'échelle est initialisée à (1.0, 1.0) et la rotation à 0.0.
@@ -35,10 +40,40 @@ public class Transform extends Serialize {
      */
     public Transform(Vector2 position) {
         this.position = position;
+        this.previousPosition = position.copy();
         this.scale = new Vector2(1.0f, 1.0f);
         this.rotation = 0.0f;
     }
 
+    /**
+     * Mémorise la position actuelle comme position du tick précédent.
+     * Appelée au début de chaque tick, ou après une téléportation pour éviter d'interpoler le saut.
+     */
+    public void storePreviousPosition() {
+        this.previousPosition.x = this.position.x;
+        this.previousPosition.y = this.position.y;
+    }
+
+    /**
+     * Calcule la position X interpolée entre le tick précédent et le tick actuel.
+     *
+     * @param alpha Facteur d'interpolation entre 0 (tick précédent) et 1 (tick actuel).
+     * @return La position X interpolée.
+     */
+    public float interpolatedX(float alpha) {
+        return previousPosition.x + (position.x - previousPosition.x) * alpha;
+    }
+
+    /**
+     * Calcule la position Y interpolée entre le tick précédent et le tick actuel.
+     *
+     * @param alpha Facteur d'interpolation entre 0 (tick précédent) et 1 (tick actuel).
+     * @return La position Y interpolée.
+     */
+    public float interpolatedY(float alpha) {
+        return previousPosition.y + (position.y - previousPosition.y) * alpha;
+    }
+
     /**
      * Crée une copie de cette transformation.
      *
@@ -16,6 +16,11 @@ public class Camera {
      */
     public Vector2 position;
 
+    /**
+     * La position de la caméra au tick de simulation précédent.
+     */
+    public Vector2 previousPosition;
+
     /**
      * Crée une nouvelle instance de Camera avec une position spécifiée.
      * 
@@ -23,6 +28,35 @@ public class Camera {
      */
     public Camera(Vector2 position){
         this.position = position;
+        this.previousPosition = position.copy();
+    }
+
+    /**
+     * Mémorise la position actuelle comme position du tick précédent.
+     */
+    public void storePreviousPosition() {
+        this.previousPosition.x = this.position.x;
+        this.previousPosition.y = this.position.y;
+    }
+
+    /**
+     * Calcule la position X interpolée de la caméra.
+     *
+     * @param alpha Facteur d'interpolation entre 0 (tick précédent) et 1 (tick actuel).
+     * @return La position X interpolée.
+     */
+    public float interpolatedX(float alpha) {
+        return previousPosition.x + (position.x - previousPosition.x) * alpha;
+    }
+
+    /**
+     * Calcule la position Y interpolée de la caméra.
+     *
+     * @param alpha Facteur d'interpolation entre 0 (tick précédent) et 1 (tick actuel).
+     * @return La position Y interpolée.
+     */
+    public float interpolatedY(float alpha) {
+        return previousPosition.y + (position.y - previousPosition.y) * alpha;
     }
 
 }
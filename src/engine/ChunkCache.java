@@ -0,0 +1,441 @@
+package engine;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import util.Constants;
+
+/**
+ * Cache d'images pré-rendues des objets fixes, découpé en morceaux carrés du monde.
+ *
+ * <p>Chaque morceau de {@link #CHUNK_SIZE} pixels de côté d'un calque est dessiné une fois dans
+ * une image, puis copié à l'écran d'un seul {@code drawImage} tant que rien n'y change. Un
+ * morceau est invalidé quand un objet fixe y est ajouté ou retiré. Un morceau ne contient que
+ * les objets d'une suite d'ajouts du calque (entre deux objets mobiles), pour respecter l'ordre
+ * de dessin. Au-delà de {@link #BUDGET}
+ * morceaux en mémoire, les moins récemment affichés sont libérés.</p>
+ *
+ * <p>Avec une fenêtre, les morceaux sont dessinés en parallèle sur un {@link ForkJoinPool},
+ * chacun dans sa propre image, à partir d'un {@link RenderSnapshot} rempli par le thread de
+ * rendu ({@link GameObject#capture(RenderSnapshot)}) : les threads du pool ne lisent ni les
+ * objets ni leurs composants. Ils lisent seulement les images copiées, dont les pages d'atlas :
+ * une page n'est que complétée (voir {@link dataStructure.TextureAtlas}), les zones déjà
+ * empaquetées qu'un morceau dessine ne changent plus. En attendant, l'ancienne image d'un morceau invalidé reste affichée ; un morceau jamais
+ * dessiné n'affiche rien. Sans fenêtre, les morceaux sont dessinés immédiatement, pour que
+ * les images produites restent déterministes.</p>
+ */
+class ChunkCache {
+
+    /** Côté d'un morceau, en pixels. */
+    static final int CHUNK_SIZE = 1024;
+
+    /** Nombre maximal de morceaux gardés en mémoire (4 Mo chacun), tous calques confondus. */
+    static final int BUDGET = 16;
+
+    /** Nombre maximal d'images libérées gardées pour être réutilisées. */
+    private static final int SPARE_IMAGES = 4;
+
+    /** Threads qui dessinent les morceaux (créés au premier besoin). */
+    private static ForkJoinPool pool = null;
+
+    /**
+     * Un morceau en mémoire : son image, le rectangle qu'y occupent ses objets (seule cette
+     * partie est copiée à l'écran) et son éventuel dessin en cours.
+     */
+    private static final class Chunk {
+        BufferedImage image;
+        int minX, minY, maxX, maxY;
+
+        /** L'image ne correspond plus aux objets : elle est affichée en attendant la nouvelle. */
+        boolean stale;
+
+        /** Le morceau a quitté le cache. */
+        boolean removed;
+
+        /** Dessin en cours de ce morceau (null sinon). */
+        Bake pending;
+    }
+
+    /** Marque un morceau sans aucun objet : rien à dessiner. */
+    private static final Chunk EMPTY = new Chunk();
+
+    /**
+     * Identifie un morceau : son calque, la suite de numéros d'ordre de ses objets et sa position
+     * dans la grille des morceaux.
+     */
+    private static final class Key {
+        RenderLayer layer;
+        long fromOrder, toOrder;
+        int x, y;
+
+        Key(RenderLayer layer, long fromOrder, long toOrder, int x, int y) {
+            this.layer = layer;
+            this.fromOrder = fromOrder;
+            this.toOrder = toOrder;
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key)o;
+            return k.layer == layer && k.fromOrder == fromOrder && k.toOrder == toOrder && k.x == x && k.y == y;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = System.identityHashCode(layer) * 31 + Long.hashCode(fromOrder);
+            h = h * 31 + Long.hashCode(toOrder);
+            return (h * 31 + x) * 31 + y;
+        }
+    }
+
+    /**
+     * Dessin d'un morceau, à partir de ce que ses objets ont copié dans un instantané et de leur
+     * taille : il ne lit ni le calque ni les objets, qui peuvent changer pendant ce temps.
+     */
+    private final class Bake implements Runnable {
+        final Chunk target;
+        final float originX, originY;
+
+        /** Ce que dessinent les objets du morceau, dans leur ordre d'ajout. */
+        final RenderSnapshot snapshot = new RenderSnapshot();
+
+        /** Rectangle occupé par chaque objet, relatif au morceau. */
+        final float[] x, y, width, height;
+
+        /** Image dans laquelle dessiner (null pour en créer une). */
+        BufferedImage image;
+
+        /** Rectangle occupé par les objets dans l'image. */
+        int minX, minY, maxX, maxY;
+
+        /** Le morceau a été invalidé ou libéré pendant le dessin : le résultat est jeté. */
+        volatile boolean obsolete = false;
+
+        Bake(Chunk target, float originX, float originY, List<GameObject> found, BufferedImage image) {
+            this.target = target;
+            this.originX = originX;
+            this.originY = originY;
+            this.image = image;
+            int size = found.size();
+            this.x = new float[size];
+            this.y = new float[size];
+            this.width = new float[size];
+            this.height = new float[size];
+            for (int i = 0; i < size; i++) {
+                GameObject g = found.get(i);
+                g.capture(snapshot);
+                x[i] = g.transform.position.x - originX;
+                y[i] = g.transform.position.y - originY;
+                width[i] = Renderer.width(g);
+                height[i] = Renderer.height(g);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!obsolete) {
+                    draw();
+                }
+            } finally {
+                finished.add(this);
+            }
+        }
+
+        /**
+         * Dessine les entrées de l'instantané dans l'image et calcule le rectangle occupé par
+         * les objets.
+         */
+        void draw() {
+            if (image == null) {
+                image = new BufferedImage(CHUNK_SIZE, CHUNK_SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+            }
+            Graphics2D g2 = image.createGraphics();
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(0, 0, CHUNK_SIZE, CHUNK_SIZE);
+            g2.setComposite(AlphaComposite.SrcOver);
+
+            minX = CHUNK_SIZE;
+            minY = CHUNK_SIZE;
+            maxX = 0;
+            maxY = 0;
+            for (int i = 0; i < snapshot.size; i++) {
+                snapshot.draw(g2, i, snapshot.x[i] - originX, snapshot.y[i] - originY, snapshot.value[i]);
+            }
+            for (int i = 0; i < x.length; i++) {
+                minX = Math.min(minX, (int)Math.floor(x[i]));
+                minY = Math.min(minY, (int)Math.floor(y[i]));
+                maxX = Math.max(maxX, (int)Math.ceil(x[i] + width[i]));
+                maxY = Math.max(maxY, (int)Math.ceil(y[i] + height[i]));
+            }
+            g2.dispose();
+
+            minX = Math.max(minX, 0);
+            minY = Math.max(minY, 0);
+            maxX = Math.min(maxX, CHUNK_SIZE);
+            maxY = Math.min(maxY, CHUNK_SIZE);
+        }
+    }
+
+    /** Morceaux en mémoire, du moins au plus récemment affiché. */
+    private final Map<Key, Chunk> chunks = new LinkedHashMap<Key, Chunk>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Chunk> eldest) {
+            if (size() <= BUDGET) return false;
+            discard(eldest.getValue());
+            return true;
+        }
+    };
+
+    /** Clé réutilisée pour les recherches, pour ne rien allouer à chaque frame. */
+    private final Key probe = new Key(null, 0, 0, 0, 0);
+
+    /** Images libérées, réutilisées pour les prochains morceaux à dessiner. */
+    private final Queue<BufferedImage> spares = new ArrayDeque<>();
+
+    /** Dessins terminés par le pool, à installer par le thread de rendu. */
+    private final Queue<Bake> finished = new ConcurrentLinkedQueue<>();
+
+    /** Nombre de dessins lancés et pas encore installés. */
+    private int pending = 0;
+
+    /** Objets d'un morceau à dessiner (réutilisée). */
+    private final List<GameObject> objects = new ArrayList<>();
+
+    /**
+     * Dessine les objets fixes d'un calque visibles depuis la caméra, morceau par morceau, en ne
+     * gardant que ceux dont le numéro d'ordre est dans l'intervalle donné.
+     *
+     * @param g2 Contexte graphique de l'écran.
+     * @param layer Le calque à dessiner.
+     * @param fromOrder Plus petit numéro d'ordre dessiné.
+     * @param toOrder Numéro d'ordre de fin (exclu).
+     * @param cameraX Abscisse de la caméra.
+     * @param cameraY Ordonnée de la caméra.
+     */
+    void draw(Graphics2D g2, RenderLayer layer, long fromOrder, long toOrder, float cameraX, float cameraY) {
+        installFinished();
+        if (layer.staticObjects.size() == 0) return;
+
+        int minX = Math.floorDiv((int)Math.floor(cameraX), CHUNK_SIZE);
+        int minY = Math.floorDiv((int)Math.floor(cameraY), CHUNK_SIZE);
+        int maxX = Math.floorDiv((int)Math.floor(cameraX) + Constants.WIDTH, CHUNK_SIZE);
+        int maxY = Math.floorDiv((int)Math.floor(cameraY) + Constants.HEIGHT, CHUNK_SIZE);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Chunk chunk = get(layer, fromOrder, toOrder, cx, cy);
+                if (chunk == EMPTY || chunk.image == null) continue;
+
+                // Ne copie que la partie occupée du morceau qui est à l'écran
+                int screenX = (int)Math.floor(cx * CHUNK_SIZE - cameraX);
+                int screenY = (int)Math.floor(cy * CHUNK_SIZE - cameraY);
+                int x0 = Math.max(screenX + chunk.minX, 0), y0 = Math.max(screenY + chunk.minY, 0);
+                int x1 = Math.min(screenX + chunk.maxX, Constants.WIDTH);
+                int y1 = Math.min(screenY + chunk.maxY, Constants.HEIGHT);
+                if (x0 < x1 && y0 < y1) {
+                    g2.drawImage(chunk.image, x0, y0, x1, y1,
+                        x0 - screenX, y0 - screenY, x1 - screenX, y1 - screenY, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true si des morceaux sont en cours de dessin : l'écran changera quand ils seront prêts.
+     */
+    boolean hasPending() {
+        return pending > 0;
+    }
+
+    /**
+     * Retourne un morceau, en lançant son dessin s'il n'est pas en cache ou s'il est périmé.
+     * Sans fenêtre, le morceau est dessiné avant de le retourner.
+     */
+    private Chunk get(RenderLayer layer, long fromOrder, long toOrder, int cx, int cy) {
+        probe.layer = layer;
+        probe.fromOrder = fromOrder;
+        probe.toOrder = toOrder;
+        probe.x = cx;
+        probe.y = cy;
+        Chunk chunk = chunks.get(probe);
+        probe.layer = null;
+        if (chunk != null && (chunk == EMPTY || !chunk.stale || chunk.pending != null)) {
+            return chunk;
+        }
+
+        float originX = cx * CHUNK_SIZE;
+        float originY = cy * CHUNK_SIZE;
+        objects.clear();
+        layer.staticObjects.queryOrdered(originX, originY, CHUNK_SIZE, CHUNK_SIZE, fromOrder, toOrder, objects);
+        if (objects.isEmpty()) {
+            if (chunk != null) {
+                discard(chunk);
+            }
+            chunks.put(new Key(layer, fromOrder, toOrder, cx, cy), EMPTY);
+            return EMPTY;
+        }
+
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunks.put(new Key(layer, fromOrder, toOrder, cx, cy), chunk);
+        }
+        Bake bake = new Bake(chunk, originX, originY, objects, spares.poll());
+        objects.clear();
+        chunk.pending = bake;
+        pending++;
+
+        if (Window.getWindow().isHeadless()) {
+            bake.run();
+            installFinished();
+        } else {
+            pool().execute(bake);
+        }
+        return chunk;
+    }
+
+    /**
+     * Installe les dessins terminés dans leur morceau, sauf ceux devenus inutiles.
+     */
+    private void installFinished() {
+        Bake bake;
+        while ((bake = finished.poll()) != null) {
+            pending--;
+            Chunk chunk = bake.target;
+            if (chunk.pending == bake) {
+                chunk.pending = null;
+            }
+            if (bake.obsolete || chunk.removed) {
+                recycle(bake.image);
+                continue;
+            }
+            recycle(chunk.image);
+            chunk.image = bake.image;
+            chunk.minX = bake.minX;
+            chunk.minY = bake.minY;
+            chunk.maxX = bake.maxX;
+            chunk.maxY = bake.maxY;
+            chunk.stale = false;
+        }
+    }
+
+    /**
+     * Invalide les morceaux d'un calque qui touchent le rectangle donné, quelle que soit leur
+     * suite d'objets. Le cache ne gardant que quelques morceaux, tous sont parcourus.
+     *
+     * @param layer Le calque modifié.
+     * @param x Abscisse du coin supérieur gauche, dans le monde.
+     * @param y Ordonnée du coin supérieur gauche, dans le monde.
+     * @param width Largeur du rectangle.
+     * @param height Hauteur du rectangle.
+     */
+    void invalidate(RenderLayer layer, float x, float y, float width, float height) {
+        int minX = Math.floorDiv((int)Math.floor(x), CHUNK_SIZE);
+        int minY = Math.floorDiv((int)Math.floor(y), CHUNK_SIZE);
+        int maxX = Math.floorDiv((int)Math.ceil(x + width), CHUNK_SIZE);
+        int maxY = Math.floorDiv((int)Math.ceil(y + height), CHUNK_SIZE);
+        Iterator<Map.Entry<Key, Chunk>> it = chunks.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Chunk> entry = it.next();
+            Key key = entry.getKey();
+            if (key.layer != layer || key.x < minX || key.x > maxX || key.y < minY || key.y > maxY) continue;
+            if (entry.getValue() == EMPTY) {
+                it.remove();
+            } else {
+                markStale(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Invalide tous les morceaux d'un calque.
+     *
+     * @param layer Le calque modifié.
+     */
+    void invalidate(RenderLayer layer) {
+        Iterator<Map.Entry<Key, Chunk>> it = chunks.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Chunk> entry = it.next();
+            if (entry.getKey().layer != layer) continue;
+            if (entry.getValue() == EMPTY) {
+                it.remove();
+            } else {
+                markStale(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Libère tous les morceaux d'un calque supprimé.
+     *
+     * @param layer Le calque supprimé.
+     */
+    void remove(RenderLayer layer) {
+        Iterator<Map.Entry<Key, Chunk>> it = chunks.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Chunk> entry = it.next();
+            if (entry.getKey().layer == layer) {
+                discard(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Marque un morceau à redessiner ; son image reste affichée jusque-là.
+     */
+    private void markStale(Chunk chunk) {
+        chunk.stale = true;
+        if (chunk.pending != null) {
+            chunk.pending.obsolete = true;
+            chunk.pending = null;
+        }
+    }
+
+    /**
+     * Libère un morceau qui quitte le cache : son image est gardée pour être réutilisée, et son
+     * dessin en cours sera jeté.
+     */
+    private void discard(Chunk chunk) {
+        if (chunk == EMPTY) return;
+        chunk.removed = true;
+        if (chunk.pending != null) {
+            chunk.pending.obsolete = true;
+        }
+        recycle(chunk.image);
+        chunk.image = null;
+    }
+
+    /**
+     * Garde une image libérée pour un prochain morceau.
+     *
+     * @param image L'image libérée (peut être null).
+     */
+    private void recycle(BufferedImage image) {
+        if (image != null && spares.size() < SPARE_IMAGES) {
+            spares.add(image);
+        }
+    }
+
+    /**
+     * @return Le pool qui dessine les morceaux, un thread par cœur.
+     */
+    private static synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+}
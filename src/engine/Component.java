@@ -2,6 +2,7 @@ package engine;
 
 import java.awt.Graphics2D;
 
+import dataStructure.Transform;
 import file.Serialize;
 
 /**
@@ -21,6 +22,45 @@ public abstract class Component<T> extends Serialize {
         return;
     }
 
+    /**
+     * Dessine le composant à la transformation donnée au lieu de celle du GameObject.
+     * Utilisé par le renderer, qui dessine les objets à leur position interpolée sans
+     * modifier leur transformation. Par défaut, délègue à {@link #draw(Graphics2D)}.
+     *
+     * @param g2 Contexte graphique utilisé pour le rendu.
+     * @param transform Transformation à utiliser pour le dessin.
+     */
+    public void draw(Graphics2D g2, Transform transform){
+        draw(g2);
+    }
+
+    /**
+     * Enregistre dans l'instantané du thread de rendu tout ce que le dessin du composant lit.
+     * Par défaut, le composant est enregistré avec une copie de la transformation de son objet
+     * et sera dessiné par {@link #draw(Graphics2D, Transform, double)} : cela ne convient
+     * qu'aux composants dont le dessin ne lit que cette transformation et des champs fixés à
+     * leur création. Les autres copient leur état (voir Sprite, ParallaxLayer), et ceux qui ne
+     * dessinent rien n'enregistrent rien.
+     *
+     * @param snapshot L'instantané en cours de capture, sur le thread de simulation.
+     */
+    public void capture(RenderSnapshot snapshot){
+        snapshot.addComponent(this, gameObject.transform, gameObject.isUi, 0, 0);
+    }
+
+    /**
+     * Dessine le composant depuis un instantané, sur le thread de rendu : seuls la
+     * transformation et la valeur copiées par {@link #capture(RenderSnapshot)} peuvent être
+     * lues. Par défaut, délègue à {@link #draw(Graphics2D, Transform)}.
+     *
+     * @param g2 Contexte graphique utilisé pour le rendu.
+     * @param transform Transformation copiée, interpolée et décalée par la caméra.
+     * @param value Valeur copiée par capture, interpolée entre les deux derniers ticks.
+     */
+    public void draw(Graphics2D g2, Transform transform, double value){
+        draw(g2, transform);
+    }
+
     public void start(){
         return;
     }
@@ -28,4 +68,4 @@ public abstract class Component<T> extends Serialize {
     public Component copy(){
         return null;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
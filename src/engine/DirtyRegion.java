@@ -0,0 +1,96 @@
+package engine;
+
+import java.awt.Rectangle;
+import java.awt.geom.Area;
+import java.util.ArrayList;
+import java.util.List;
+
+import util.Constants;
+
+/**
+ * Zone de l'écran à redessiner depuis la dernière frame, sous forme de rectangles.
+ *
+ * <p>Les rectangles qui se chevauchent sont fusionnés. Au-delà de {@link #MAX_RECTS} rectangles,
+ * la zone couvre tout l'écran : un redessin complet coûte alors moins cher qu'un découpage trop
+ * fin. Les ajouts peuvent venir du thread de simulation pendant que le thread de rendu lit la
+ * zone, d'où les méthodes synchronisées.</p>
+ */
+class DirtyRegion {
+
+    /** Nombre de rectangles au-delà duquel tout l'écran est redessiné. */
+    static final int MAX_RECTS = 32;
+
+    /** Rectangles à redessiner, sans chevauchement entre eux. */
+    private final List<Rectangle> rects = new ArrayList<>();
+
+    /** Indique si tout l'écran est à redessiner. */
+    private boolean full = true;
+
+    /**
+     * Ajoute un rectangle de l'écran à redessiner. Les parties hors de l'écran sont ignorées.
+     *
+     * @param x Abscisse du coin supérieur gauche, à l'écran.
+     * @param y Ordonnée du coin supérieur gauche, à l'écran.
+     * @param width Largeur du rectangle.
+     * @param height Hauteur du rectangle.
+     */
+    synchronized void add(int x, int y, int width, int height) {
+        if (full) return;
+
+        Rectangle r = new Rectangle(x, y, width, height).intersection(
+            new Rectangle(0, 0, Constants.WIDTH, Constants.HEIGHT));
+        if (r.isEmpty()) return;
+
+        // Absorbe les rectangles touchés jusqu'à ne plus en chevaucher aucun
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < rects.size(); i++) {
+                if (rects.get(i).intersects(r)) {
+                    r.add(rects.remove(i));
+                    merged = true;
+                    break;
+                }
+            }
+        }
+        rects.add(r);
+        if (rects.size() > MAX_RECTS) {
+            addAll();
+        }
+    }
+
+    /**
+     * Marque tout l'écran à redessiner.
+     */
+    synchronized void addAll() {
+        full = true;
+        rects.clear();
+    }
+
+    /**
+     * @return true s'il n'y a rien à redessiner.
+     */
+    synchronized boolean isEmpty() {
+        return !full && rects.isEmpty();
+    }
+
+    /**
+     * Retourne la zone à redessiner puis la vide.
+     *
+     * @return La zone à redessiner, ou null s'il n'y a rien à redessiner.
+     */
+    synchronized Area drain() {
+        Area area = null;
+        if (full) {
+            area = new Area(new Rectangle(0, 0, Constants.WIDTH, Constants.HEIGHT));
+        } else if (!rects.isEmpty()) {
+            area = new Area();
+            for (Rectangle r : rects) {
+                area.add(new Area(r));
+            }
+        }
+        full = false;
+        rects.clear();
+        return area;
+    }
+}
@@ -0,0 +1,191 @@
+package engine;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+
+import util.Constants;
+
+/**
+ * Enregistre les frames affichées dans une suite d'images PNG, sans bloquer le rendu.
+ *
+ * <p>Le rendu dessine la frame dans une image prise dans une réserve de taille fixe
+ * ({@link #acquire()}), puis la remet à la file des images à écrire ({@link #submit(BufferedImage)}).
+ * Des threads d'arrière-plan encodent les PNG et rendent les images à la réserve : aucune image
+ * n'est allouée pendant la capture, et la mémoire utilisée est bornée. Quand l'encodage prend du
+ * retard et que la réserve est vide, la {@link Policy} décide de perdre la frame ou d'attendre.</p>
+ */
+public class FrameCapture {
+
+    /**
+     * Comportement quand aucune image n'est libre pour la frame suivante.
+     */
+    public enum Policy {
+        /** La frame n'est pas capturée : la cadence du jeu est préservée. */
+        DROP,
+
+        /** Le rendu attend qu'une image soit écrite : aucune frame n'est perdue. */
+        BLOCK
+    }
+
+    /** Nombre d'images de la réserve par thread d'encodage. */
+    private static final int BUFFERS_PER_WORKER = 3;
+
+    /** Dossier des images. */
+    public final File directory;
+
+    /** Comportement quand la réserve est vide. */
+    public final Policy policy;
+
+    /** Images libres, prêtes à recevoir une frame. */
+    private final BlockingQueue<BufferedImage> free;
+
+    /** Frames à écrire, dans l'ordre de capture. */
+    private final BlockingQueue<Frame> pending;
+
+    /** Threads d'encodage. */
+    private final Thread[] workers;
+
+    /** Numéro de la prochaine frame capturée. */
+    private int nextIndex = 0;
+
+    /** Nombre de frames écrites et de frames perdues faute d'image libre. */
+    private final AtomicInteger written = new AtomicInteger(), dropped = new AtomicInteger();
+
+    /** Indique si la capture est arrêtée : les threads terminent alors la file puis s'arrêtent. */
+    private volatile boolean stopped = false;
+
+    /** Écrit les frames en attente si le programme s'arrête pendant la capture. */
+    private final Thread shutdownHook = new Thread(this::stop, "FrameCaptureFlush");
+
+    /**
+     * Une frame en attente d'écriture.
+     */
+    private static final class Frame {
+        final BufferedImage image;
+        final int index;
+
+        Frame(BufferedImage image, int index) {
+            this.image = image;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Démarre une capture. Un thread d'encodage par cœur disponible, au plus 4, est lancé.
+     *
+     * @param directory Dossier des images, créé s'il n'existe pas.
+     * @param policy Comportement quand l'encodage prend du retard.
+     * @throws IOException Si le dossier ne peut pas être créé.
+     */
+    public FrameCapture(File directory, Policy policy) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create capture directory: " + directory);
+        }
+        this.directory = directory;
+        this.policy = policy;
+
+        int workerCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        int bufferCount = workerCount * BUFFERS_PER_WORKER;
+        this.free = new ArrayBlockingQueue<>(bufferCount);
+        this.pending = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            free.add(new BufferedImage(Constants.WIDTH, Constants.HEIGHT, BufferedImage.TYPE_INT_RGB));
+        }
+
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Thread(this::encodeLoop, "FrameCapture-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Prend une image libre pour y dessiner la frame suivante.
+     *
+     * @return L'image, ou null si la frame doit être perdue ({@link Policy#DROP}) ou si la
+     *         capture est arrêtée.
+     */
+    public BufferedImage acquire() {
+        if (stopped) return null;
+
+        BufferedImage image = free.poll();
+        if (image == null && policy == Policy.BLOCK) {
+            try {
+                image = free.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (image == null) {
+            dropped.incrementAndGet();
+        }
+        return image;
+    }
+
+    /**
+     * Remet une image dessinée à la file d'écriture. L'image ne doit plus être utilisée ensuite.
+     *
+     * @param image Une image obtenue par {@link #acquire()}.
+     */
+    public void submit(BufferedImage image) {
+        // La file a la taille de la réserve : il y a toujours de la place
+        pending.add(new Frame(image, nextIndex++));
+    }
+
+    /**
+     * Boucle des threads d'encodage : écrit les frames en attente jusqu'à l'arrêt de la capture.
+     */
+    private void encodeLoop() {
+        try {
+            while (!stopped || !pending.isEmpty()) {
+                Frame frame = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (frame == null) continue;
+
+                try {
+                    ImageIO.write(frame.image, "png", new File(directory, String.format("frame_%06d.png", frame.index)));
+                    written.incrementAndGet();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                } finally {
+                    free.add(frame.image);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Arrête la capture et attend que les frames en attente soient écrites.
+     */
+    public void stop() {
+        stopped = true;
+        if (Thread.currentThread() != shutdownHook) {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Un résumé de la capture pour la surimpression.
+     */
+    public String report() {
+        return String.format("capture : %d images, %d en attente, %d perdues",
+                written.get(), pending.size(), dropped.get());
+    }
+}
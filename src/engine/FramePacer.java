@@ -0,0 +1,213 @@
+package engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cadence la boucle de rendu sur une fréquence cible (par défaut {@link util.Constants#FPS}).
+ *
+ * <p>L'attente est hybride : le thread est parqué tant qu'il reste plus que le seuil de
+ * réveil avant l'échéance, puis il tourne activement jusqu'à l'échéance exacte. Le seuil
+ * s'adapte au retard de réveil observé du système, ce qui donne une précision inférieure
+ * à la milliseconde sans monopoliser un cœur.</p>
+ *
+ * <p>Une cible de 0 FPS désactive la limitation (mode benchmark). Le pacer mesure aussi la
+ * gigue, c'est-à-dire l'écart entre l'intervalle réel de deux frames et l'intervalle visé.</p>
+ */
+public class FramePacer {
+
+    /** Nombre de nanosecondes dans une seconde. */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** Seuil de réveil minimal et maximal avant de passer à l'attente active. */
+    private static final long MIN_SPIN_NANOS = 100_000L;
+    private static final long MAX_SPIN_NANOS = 4_000_000L;
+
+    /** Durée cible d'une frame en nanosecondes (0 si non limité). */
+    private long frameNanos;
+
+    /** Fréquence cible en images par seconde (0 si non limité). */
+    private int targetFps;
+
+    /** Échéance de la prochaine frame. */
+    private long nextDeadline = 0;
+
+    /** Moment de la fin de la frame précédente. */
+    private long lastFrameEnd = 0;
+
+    /** Seuil actuel en dessous duquel on n'essaie plus de parquer le thread. */
+    private long spinNanos = 1_000_000L;
+
+    /** Moyenne glissante du retard de réveil après un park. */
+    private double parkOvershoot = 0;
+
+    /** Statistiques de la fenêtre de mesure en cours. */
+    private long windowStart = 0;
+    private int windowFrames = 0;
+    private long windowJitterSum = 0;
+    private long windowJitterMax = 0;
+
+    /** Statistiques de la dernière fenêtre de mesure terminée. */
+    private double measuredFps = 0;
+    private double meanJitterMs = 0;
+    private double maxJitterMs = 0;
+    private boolean hasNewReport = false;
+
+    /**
+     * Crée un pacer visant la fréquence donnée.
+     *
+     * @param targetFps Nombre d'images par seconde visé, ou 0 pour ne pas limiter.
+     */
+    public FramePacer(int targetFps) {
+        setTargetFps(targetFps);
+    }
+
+    /**
+     * Change la fréquence visée.
+     *
+     * @param targetFps Nombre d'images par seconde visé, ou 0 pour ne pas limiter.
+     */
+    public void setTargetFps(int targetFps) {
+        this.targetFps = Math.max(targetFps, 0);
+        this.frameNanos = this.targetFps == 0 ? 0 : NANOS_PER_SECOND / this.targetFps;
+        this.nextDeadline = 0;
+    }
+
+    /**
+     * @return La fréquence visée, ou 0 si la boucle n'est pas limitée.
+     */
+    public int getTargetFps() {
+        return targetFps;
+    }
+
+    /**
+     * @return true si la boucle tourne sans limitation (mode benchmark).
+     */
+    public boolean isUncapped() {
+        return frameNanos == 0;
+    }
+
+    /**
+     * Attend la prochaine échéance puis enregistre les statistiques de la frame.
+     * À appeler une fois par frame, après la présentation.
+     */
+    public void sync() {
+        if (frameNanos > 0) {
+            long now = System.nanoTime();
+            if (nextDeadline == 0 || now - nextDeadline > frameNanos) {
+                // Première frame ou gros retard : on se recale plutôt que d'enchaîner des frames en rafale
+                nextDeadline = now + frameNanos;
+            }
+            waitUntil(nextDeadline);
+            nextDeadline += frameNanos;
+        }
+        recordFrame(System.nanoTime());
+    }
+
+    /**
+     * Attend jusqu'à l'échéance donnée : park tant que c'est possible, puis attente active.
+     *
+     * @param deadline Échéance en nanosecondes (référentiel {@link System#nanoTime()}).
+     */
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (remaining > spinNanos) {
+            long requested = remaining - spinNanos;
+            long before = System.nanoTime();
+            LockSupport.parkNanos(requested);
+            long overshoot = (System.nanoTime() - before) - requested;
+            adaptSpinThreshold(overshoot);
+            remaining = deadline - System.nanoTime();
+        }
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Ajuste le seuil d'attente active d'après le retard de réveil mesuré.
+     *
+     * @param overshoot Retard du réveil par rapport à la durée demandée, en nanosecondes.
+     */
+    private void adaptSpinThreshold(long overshoot) {
+        parkOvershoot = parkOvershoot * 0.9 + Math.max(overshoot, 0) * 0.1;
+        spinNanos = Math.min(Math.max((long)(parkOvershoot * 2), MIN_SPIN_NANOS), MAX_SPIN_NANOS);
+    }
+
+    /**
+     * Enregistre la fin d'une frame et met à jour la gigue mesurée.
+     *
+     * @param now Moment de la fin de la frame.
+     */
+    private void recordFrame(long now) {
+        if (lastFrameEnd != 0 && frameNanos > 0) {
+            long jitter = Math.abs((now - lastFrameEnd) - frameNanos);
+            windowJitterSum += jitter;
+            windowJitterMax = Math.max(windowJitterMax, jitter);
+        }
+        lastFrameEnd = now;
+
+        if (windowStart == 0) {
+            windowStart = now;
+            return;
+        }
+        windowFrames++;
+
+        long elapsed = now - windowStart;
+        if (elapsed >= NANOS_PER_SECOND) {
+            measuredFps = windowFrames * (double)NANOS_PER_SECOND / elapsed;
+            meanJitterMs = windowJitterSum / (double)windowFrames / 1_000_000.0;
+            maxJitterMs = windowJitterMax / 1_000_000.0;
+            hasNewReport = true;
+
+            windowStart = now;
+            windowFrames = 0;
+            windowJitterSum = 0;
+            windowJitterMax = 0;
+        }
+    }
+
+    /**
+     * @return Le nombre d'images par seconde mesuré sur la dernière fenêtre d'une seconde.
+     */
+    public double getMeasuredFps() {
+        return measuredFps;
+    }
+
+    /**
+     * @return La gigue moyenne mesurée sur la dernière fenêtre, en millisecondes.
+     */
+    public double getMeanJitterMs() {
+        return meanJitterMs;
+    }
+
+    /**
+     * @return La gigue maximale mesurée sur la dernière fenêtre, en millisecondes.
+     */
+    public double getMaxJitterMs() {
+        return maxJitterMs;
+    }
+
+    /**
+     * Indique si une nouvelle fenêtre de mesure s'est terminée depuis le dernier appel.
+     *
+     * @return true une fois par fenêtre de mesure terminée.
+     */
+    public boolean pollReport() {
+        boolean result = hasNewReport;
+        hasNewReport = false;
+        return result;
+    }
+
+    /**
+     * Résume les mesures de la dernière fenêtre.
+     *
+     * @return Une chaîne du type "60 fps, gigue moy 0.04 ms / max 0.21 ms".
+     */
+    public String report() {
+        if (isUncapped()) {
+            return String.format("%.0f fps (non limité)", measuredFps);
+        }
+        return String.format("%.0f/%d fps, gigue moy %.2f ms / max %.2f ms",
+                measuredFps, targetFps, meanJitterMs, maxJitterMs);
+    }
+}
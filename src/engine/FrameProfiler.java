@@ -0,0 +1,180 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import util.Histogram;
+
+/**
+ * Mesure la durée de chaque phase d'une frame dans des histogrammes à seaux fixes.
+ *
+ * <p>Les phases sont instrumentées par paires {@link #begin()} / {@link #end(Phase, long)},
+ * ce qui coûte deux lectures de {@link System#nanoTime()} et aucune allocation. Les résultats
+ * (p50, p99, p99.9, max) peuvent être affichés en surimpression ou exportés en CSV.</p>
+ */
+public class FrameProfiler {
+
+    /**
+     * Les phases mesurées. {@code TICK} contient {@code COLLISION}, et {@code FRAME} est
+     * l'intervalle complet entre deux frames présentées.
+     */
+    public enum Phase {
+        TICK,
+        COLLISION,
+        RENDER,
+        PRESENT,
+        FRAME
+    }
+
+    /** Un histogramme par phase. */
+    private final Map<Phase, Histogram> histograms = new EnumMap<>(Phase.class);
+
+    /** Indique si la surimpression est affichée. */
+    public volatile boolean showOverlay = false;
+
+    /** Police de la surimpression. */
+    private final Font overlayFont = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    /** Fond semi-transparent de la surimpression. */
+    private final Color overlayBackground = new Color(0, 0, 0, 170);
+
+    /** Fin de la frame précédente, pour la phase {@link Phase#FRAME}. */
+    private long lastFrameEnd = 0;
+
+    /**
+     * Crée un profileur avec un histogramme vide par phase.
+     */
+    public FrameProfiler() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new Histogram());
+        }
+    }
+
+    /**
+     * Marque le début d'une phase.
+     *
+     * @return L'instant de début, à repasser à {@link #end(Phase, long)}.
+     */
+    public long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Marque la fin d'une phase et enregistre sa durée.
+     *
+     * @param phase La phase mesurée.
+     * @param start L'instant retourné par {@link #begin()}.
+     */
+    public void end(Phase phase, long start) {
+        histograms.get(phase).record(System.nanoTime() - start);
+    }
+
+    /**
+     * Enregistre l'intervalle depuis la frame précédente. À appeler une fois par frame présentée.
+     */
+    public void endFrame() {
+        long now = System.nanoTime();
+        if (lastFrameEnd != 0) {
+            histograms.get(Phase.FRAME).record(now - lastFrameEnd);
+        }
+        lastFrameEnd = now;
+    }
+
+    /**
+     * Retourne l'histogramme d'une phase.
+     *
+     * @param phase La phase voulue.
+     * @return L'histogramme de la phase.
+     */
+    public Histogram get(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * Efface les mesures d'une phase.
+     *
+     * @param phase La phase à remettre à zéro.
+     */
+    public void reset(Phase phase) {
+        histograms.get(phase).reset();
+    }
+
+    /**
+     * Convertit des nanosecondes en millisecondes.
+     *
+     * @param nanos La durée en nanosecondes.
+     * @return La durée en millisecondes.
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Dessine les percentiles de chaque phase en haut à gauche de l'écran.
+     *
+     * @param g2 Contexte graphique utilisé pour le rendu.
+     * @param extraLines Lignes supplémentaires affichées sous le tableau (peut être vide).
+     */
+    public void drawOverlay(Graphics2D g2, String... extraLines) {
+        int lineHeight = 15;
+        int lines = Phase.values().length + 1 + extraLines.length;
+        g2.setColor(overlayBackground);
+        g2.fillRect(5, 5, 470, lines * lineHeight + 10);
+
+        g2.setFont(overlayFont);
+        g2.setColor(Color.WHITE);
+        int y = 5 + lineHeight;
+        g2.drawString(String.format("%-10s %8s %8s %8s %8s  (ms)", "phase", "p50", "p99", "p99.9", "max"), 12, y);
+        for (Phase phase : Phase.values()) {
+            Histogram h = histograms.get(phase);
+            y += lineHeight;
+            g2.drawString(String.format(Locale.ROOT, "%-10s %8.3f %8.3f %8.3f %8.3f", phase,
+                    toMillis(h.getPercentile(50)), toMillis(h.getPercentile(99)),
+                    toMillis(h.getPercentile(99.9)), toMillis(h.getMax())), 12, y);
+        }
+        for (String line : extraLines) {
+            y += lineHeight;
+            g2.drawString(line, 12, y);
+        }
+    }
+
+    /**
+     * Écrit les percentiles de chaque phase dans un fichier CSV.
+     *
+     * @param path Chemin du fichier à écrire.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public void writeCsv(String path) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(path))) {
+            out.println("phase,count,p50_ms,p99_ms,p999_ms,max_ms");
+            for (Phase phase : Phase.values()) {
+                Histogram h = histograms.get(phase);
+                out.printf(Locale.ROOT, "%s,%d,%.4f,%.4f,%.4f,%.4f%n", phase, h.getCount(),
+                        toMillis(h.getPercentile(50)), toMillis(h.getPercentile(99)),
+                        toMillis(h.getPercentile(99.9)), toMillis(h.getMax()));
+            }
+        }
+    }
+
+    /**
+     * Programme l'export CSV des mesures à la fermeture du programme.
+     *
+     * @param path Chemin du fichier à écrire.
+     */
+    public void writeCsvOnExit(String path) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                writeCsv(path);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, "ProfilerCsv"));
+    }
+}
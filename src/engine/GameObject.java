@@ -32,6 +32,12 @@ public class GameObject extends Serialize {
     /** Indique si le GameObject est un élément d'interface utilisateur (UI). */
     public boolean isUi = false;
 
+    /**
+     * Indique si le GameObject ne se déplace pas (blocs du niveau). Les objets fixes sont indexés
+     * par position dans le renderer, qui ne dessine que ceux visibles à l'écran.
+     */
+    public boolean isStatic = false;
+
     /**
      * Constructeur pour initialiser un GameObject.
      * 
@@ -123,6 +129,7 @@ public class GameObject extends Serialize {
      * @param deltaTime Temps écoulé depuis la dernière mise à jour.
      */
     public void update(double deltaTime) {
+        transform.storePreviousPosition();
         for (Component c : components) {
             c.update(deltaTime);
         }
@@ -146,6 +153,29 @@ public class GameObject extends Serialize {
         }
     }
 
+    /**
+     * Dessine tous les composants du GameObject à la transformation donnée.
+     * 
+     * @param g2 Contexte graphique utilisé pour le rendu.
+     * @param transform Transformation à utiliser à la place de celle du GameObject.
+     */
+    public void draw(Graphics2D g2, Transform transform) {
+        for (Component c : components) {
+            c.draw(g2, transform);
+        }
+    }
+
+    /**
+     * Enregistre dans l'instantané du thread de rendu ce que le dessin de chaque composant lit.
+     * 
+     * @param snapshot L'instantané en cours de capture.
+     */
+    public void capture(RenderSnapshot snapshot) {
+        for (Component c : components) {
+            c.capture(snapshot);
+        }
+    }
+
     /**
      * Sérialise le GameObject en une chaîne de caractères.
      * 
@@ -243,4 +273,14 @@ public class GameObject extends Serialize {
     public void setUi(boolean val) {
         this.isUi = val;
     }
+
+    /**
+     * Définit si le GameObject est fixe. À appeler avant de l'ajouter à une scène ; un objet fixe
+     * déplacé ensuite doit être signalé au renderer avec {@link Renderer#move(GameObject)}.
+     * 
+     * @param val True si l'objet ne se déplace pas, false sinon.
+     */
+    public void setStatic(boolean val) {
+        this.isStatic = val;
+    }
 }
@@ -0,0 +1,240 @@
+package engine;
+
+import java.awt.Graphics2D;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Locale;
+
+import util.Constants;
+import util.Histogram;
+import util.ManualClock;
+
+/**
+ * Fait tourner une {@link LevelScene} sans fenêtre, aussi vite que possible.
+ *
+ * <p>Chaque appel à {@link #step()} exécute exactement un tick de
+ * {@link Constants#FIXED_DELTA_TIME} secondes. Les entrées sont fournies par un
+ * {@link InputScript}, et le rendu peut être fait dans une image hors écran tous les N ticks.
+ * Sert de base aux mesures de performance automatisées sur des machines sans affichage.</p>
+ *
+ * <p>Le programme doit être lancé depuis le dossier {@code src}, comme le jeu, pour trouver
+ * les dossiers {@code assets} et {@code levels}.</p>
+ */
+public class HeadlessRunner {
+
+    /**
+     * Source d'entrées scriptées, appelée avant chaque tick à la place du clavier et de la souris.
+     */
+    public interface InputScript {
+        /**
+         * Met à jour l'état des entrées pour le tick donné.
+         *
+         * @param tick Numéro du tick sur le point d'être exécuté.
+         * @param input Les entrées du tick, conservées d'un tick à l'autre.
+         */
+        void apply(long tick, InputState input);
+    }
+
+    /** La fenêtre headless qui porte la scène. */
+    private final Window window;
+
+    /** Horloge avancée d'exactement un tick à chaque {@link #step()}. */
+    private final ManualClock clock = new ManualClock();
+
+    /** La scène simulée. */
+    private final LevelScene scene;
+
+    /** Image de rendu hors écran (null si le rendu est désactivé). */
+    private BufferedImage frame = null;
+
+    /** Graphics de l'image de rendu. */
+    private Graphics2D frameGraphics = null;
+
+    /** Rendu tous les N ticks (0 pour ne jamais rendre automatiquement). */
+    private int renderEvery = 0;
+
+    /** Nombre de ticks exécutés. */
+    private long tick = 0;
+
+    /**
+     * Crée la fenêtre headless et charge le niveau.
+     *
+     * @param levelFile Nom du fichier de niveau (dans le dossier levels, sans extension).
+     */
+    public HeadlessRunner(String levelFile) {
+        this.window = Window.initHeadless();
+        this.window.setClock(clock);
+        this.window.isInEditor = false;
+        this.scene = new LevelScene("Level", levelFile);
+        this.window.changeScene(scene);
+    }
+
+    /**
+     * Définit les entrées scriptées.
+     *
+     * @param input La source d'entrées, ou null pour aucune.
+     */
+    public void setInput(InputScript input) {
+        window.setInputSource(input);
+    }
+
+    /**
+     * Active le rendu hors écran.
+     *
+     * @param renderEvery Rendu automatique tous les N ticks (0 pour ne rendre que via {@link #render()}).
+     */
+    public void enableRendering(int renderEvery) {
+        this.frame = new BufferedImage(Constants.WIDTH, Constants.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        this.frameGraphics = frame.createGraphics();
+        this.renderEvery = renderEvery;
+    }
+
+    /**
+     * Exécute un tick de simulation, puis un rendu si c'est le moment.
+     */
+    public void step() {
+        clock.advanceTicks(1);
+        window.update(Constants.FIXED_DELTA_TIME);
+        tick++;
+
+        if (frame != null && renderEvery > 0 && tick % renderEvery == 0) {
+            render();
+        }
+    }
+
+    /**
+     * Exécute plusieurs ticks.
+     *
+     * @param ticks Nombre de ticks à exécuter.
+     */
+    public void run(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Dessine l'état du dernier tick dans l'image hors écran.
+     *
+     * @return L'image rendue.
+     */
+    public BufferedImage render() {
+        if (frame == null) {
+            enableRendering(0);
+        }
+        scene.renderer.setInterpolation(1.0f);
+        window.renderOffScreen(frameGraphics);
+        return frame;
+    }
+
+    /**
+     * @return Le nombre de ticks exécutés.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return L'horloge déterministe de l'exécution.
+     */
+    public ManualClock getClock() {
+        return clock;
+    }
+
+    /**
+     * @return La scène simulée.
+     */
+    public LevelScene getScene() {
+        return scene;
+    }
+
+    /**
+     * @return La fenêtre headless (entrées, profileur).
+     */
+    public Window getWindow() {
+        return window;
+    }
+
+    /**
+     * Lance un niveau sans fenêtre et affiche les mesures.
+     *
+     * <p>Usage : {@code HeadlessRunner <niveau> [ticks] [--render-every=N] [--jump-every=N]
+     * [--record=fichier] [--replay=fichier] [--profile-csv=fichier]}. Avec {@code --replay} et sans
+     * nombre de ticks, toute la durée de l'enregistrement est rejouée.</p>
+     *
+     * @param args Arguments de la ligne de commande.
+     * @throws IOException Si l'export CSV échoue.
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length < 1) {
+            System.out.println("Usage: HeadlessRunner <level> [ticks] [--render-every=N] [--jump-every=N] [--record=file] [--replay=file] [--profile-csv=file]");
+            return;
+        }
+
+        String level = args[0];
+        long ticks = -1;
+        int renderEvery = 0;
+        int jumpEvery = 0;
+        String csv = null;
+        String record = null;
+        String replay = null;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--render-every=")) {
+                renderEvery = Integer.parseInt(arg.substring("--render-every=".length()));
+            } else if (arg.startsWith("--jump-every=")) {
+                jumpEvery = Integer.parseInt(arg.substring("--jump-every=".length()));
+            } else if (arg.startsWith("--record=")) {
+                record = arg.substring("--record=".length());
+            } else if (arg.startsWith("--replay=")) {
+                replay = arg.substring("--replay=".length());
+            } else if (arg.startsWith("--profile-csv=")) {
+                csv = arg.substring("--profile-csv=".length());
+            } else {
+                ticks = Long.parseLong(arg);
+            }
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(level);
+        if (renderEvery > 0) {
+            runner.enableRendering(renderEvery);
+        }
+        if (jumpEvery > 0) {
+            final int period = jumpEvery;
+            runner.setInput((tick, input) -> input.setKeyPressed(KeyEvent.VK_SPACE, tick % period == 0));
+        }
+        if (record != null) {
+            runner.getWindow().startRecording(record);
+        }
+        if (replay != null) {
+            InputReplay inputReplay = runner.getWindow().startReplay(replay);
+            if (ticks < 0) {
+                ticks = inputReplay.getLength();
+            }
+        }
+        if (ticks < 0) {
+            ticks = 60L * Constants.TICK_RATE;
+        }
+
+        long start = System.nanoTime();
+        runner.run(ticks);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        double simulated = ticks * Constants.FIXED_DELTA_TIME;
+
+        System.out.printf(Locale.ROOT, "%d ticks (%.1f s simulated) in %.3f s: %.0f ticks/s, x%.1f real time%n",
+                ticks, simulated, seconds, ticks / seconds, simulated / seconds);
+        FrameProfiler profiler = runner.getWindow().profiler;
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            Histogram h = profiler.get(phase);
+            if (h.getCount() > 0) {
+                System.out.printf(Locale.ROOT, "%-10s n=%-8d p50 %.3f ms  p99 %.3f ms  max %.3f ms%n", phase, h.getCount(),
+                        h.getPercentile(50) / 1e6, h.getPercentile(99) / 1e6, h.getMax() / 1e6);
+            }
+        }
+        if (csv != null) {
+            profiler.writeCsv(csv);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import util.Constants;
+
+/**
+ * Enregistre les entrées clavier et souris tick par tick dans un fichier compact.
+ *
+ * <p>Seuls les changements sont écrits : pour chaque tick où l'état diffère du précédent, le
+ * nombre de ticks écoulés depuis le dernier enregistrement (entier variable), puis la liste des
+ * changements terminée par {@link #OP_END}. Un tick sans changement ne coûte rien. Le fichier
+ * est relu par {@link InputReplay}, qui remet les mêmes états dans l'{@link InputState} du tick.</p>
+ */
+public class InputRecorder {
+
+    /** Identifiant de format en tête de fichier ("GDIN"). */
+    static final int MAGIC = 0x4744494E;
+
+    /** Version du format. */
+    static final int VERSION = 1;
+
+    /** Fin de la liste des changements d'un tick. */
+    static final int OP_END = 0;
+
+    /** Touche enfoncée : suivi du code de la touche. */
+    static final int OP_KEY_DOWN = 1;
+
+    /** Touche relâchée : suivi du code de la touche. */
+    static final int OP_KEY_UP = 2;
+
+    /** Position de la souris : suivie de x et y. */
+    static final int OP_MOUSE_POSITION = 3;
+
+    /** Déplacement de la souris : suivi de dx et dy. */
+    static final int OP_MOUSE_DELTA = 4;
+
+    /** État des boutons : suivi des indicateurs pressé/glissé et du bouton. */
+    static final int OP_MOUSE_BUTTON = 5;
+
+    /** Fin de l'enregistrement : le délai qui précède donne la durée totale. */
+    static final int OP_STOP = 6;
+
+    /** Nombre de touches suivies (taille du tableau de {@link KL} et de {@link InputState}). */
+    static final int KEY_COUNT = 128;
+
+    /** Flux de sortie. */
+    private final DataOutputStream out;
+
+    /** Dernier état enregistré. */
+    private final boolean[] keys = new boolean[KEY_COUNT];
+    private float mouseX = -1.0f, mouseY = -1.0f;
+    private float mouseDx = -1.0f, mouseDy = -1.0f;
+    private boolean mousePressed = false, mouseDragged = false;
+    private int mouseButton = -1;
+
+    /** Tick du dernier enregistrement écrit. */
+    private long lastRecordedTick = 0;
+
+    /** Dernier tick capturé. */
+    private long lastTick = -1;
+
+    /** Indique si l'enregistrement est terminé. */
+    private boolean closed = false;
+
+    /**
+     * Ouvre un fichier d'enregistrement.
+     *
+     * @param path Chemin du fichier à créer.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public InputRecorder(String path) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(Constants.TICK_RATE);
+    }
+
+    /**
+     * Compare l'état des entrées à celui du tick précédent et écrit les changements.
+     * À appeler une fois par tick, avant la mise à jour de la scène.
+     *
+     * @param tick Numéro du tick.
+     * @param input Les entrées du tick, telles que le jeu les lira.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public synchronized void capture(long tick, InputState input) throws IOException {
+        if (closed) return;
+        lastTick = tick;
+        boolean started = false;
+
+        for (int key = 0; key < KEY_COUNT; key++) {
+            boolean pressed = input.isKeyPressed(key);
+            if (pressed != keys[key]) {
+                started = beginRecord(started, tick);
+                out.writeByte(pressed ? OP_KEY_DOWN : OP_KEY_UP);
+                out.writeByte(key);
+                keys[key] = pressed;
+            }
+        }
+
+        if (input.x != mouseX || input.y != mouseY) {
+            started = beginRecord(started, tick);
+            out.writeByte(OP_MOUSE_POSITION);
+            out.writeFloat(input.x);
+            out.writeFloat(input.y);
+            mouseX = input.x;
+            mouseY = input.y;
+        }
+
+        if (input.dx != mouseDx || input.dy != mouseDy) {
+            started = beginRecord(started, tick);
+            out.writeByte(OP_MOUSE_DELTA);
+            out.writeFloat(input.dx);
+            out.writeFloat(input.dy);
+            mouseDx = input.dx;
+            mouseDy = input.dy;
+        }
+
+        if (input.mousePressed != mousePressed || input.mouseDragged != mouseDragged ||
+            input.mouseButton != mouseButton) {
+            started = beginRecord(started, tick);
+            out.writeByte(OP_MOUSE_BUTTON);
+            out.writeByte((input.mousePressed ? 1 : 0) | (input.mouseDragged ? 2 : 0));
+            out.writeByte(input.mouseButton);
+            mousePressed = input.mousePressed;
+            mouseDragged = input.mouseDragged;
+            mouseButton = input.mouseButton;
+        }
+
+        if (started) {
+            out.writeByte(OP_END);
+        }
+    }
+
+    /**
+     * Écrit l'en-tête d'un enregistrement de tick s'il n'a pas encore été écrit.
+     *
+     * @param started true si l'en-tête du tick a déjà été écrit.
+     * @param tick Numéro du tick.
+     * @return true, l'en-tête étant désormais écrit.
+     * @throws IOException Si l'écriture échoue.
+     */
+    private boolean beginRecord(boolean started, long tick) throws IOException {
+        if (!started) {
+            writeVarLong(out, tick - lastRecordedTick);
+            lastRecordedTick = tick;
+        }
+        return true;
+    }
+
+    /**
+     * Termine l'enregistrement en notant sa durée totale, puis ferme le fichier.
+     *
+     * @throws IOException Si l'écriture échoue.
+     */
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        writeVarLong(out, lastTick + 1 - lastRecordedTick);
+        out.writeByte(OP_STOP);
+        out.close();
+    }
+
+    /**
+     * Écrit un entier positif sur un nombre variable d'octets (7 bits par octet).
+     *
+     * @param out Le flux de sortie.
+     * @param value La valeur à écrire.
+     * @throws IOException Si l'écriture échoue.
+     */
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int)value);
+    }
+}
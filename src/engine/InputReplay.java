@@ -0,0 +1,177 @@
+package engine;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import util.Constants;
+
+/**
+ * Rejoue un fichier écrit par {@link InputRecorder} en remettant, à chaque tick, les états
+ * enregistrés dans l'{@link InputState} du tick. Le jeu lit ses entrées exactement comme en
+ * direct, ce qui permet de reproduire une tentative à l'identique.
+ */
+public class InputReplay implements HeadlessRunner.InputScript {
+
+    /**
+     * Un changement d'entrée à appliquer au début d'un tick.
+     */
+    private static class Event {
+        long tick;
+        int op;
+        int value;
+        int button;
+        float x, y;
+    }
+
+    /** Changements dans l'ordre des ticks. */
+    private final List<Event> events = new ArrayList<>();
+
+    /** Index du prochain changement à appliquer. */
+    private int next = 0;
+
+    /** Durée totale de l'enregistrement en ticks. */
+    private long length = 0;
+
+    /**
+     * Charge un enregistrement en mémoire.
+     *
+     * @param path Chemin du fichier à lire.
+     * @throws IOException Si le fichier est illisible ou n'est pas un enregistrement valide.
+     */
+    public InputReplay(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != InputRecorder.MAGIC) {
+                throw new IOException("Not an input recording: " + path);
+            }
+            int version = in.readUnsignedByte();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException("Unsupported input recording version " + version + ": " + path);
+            }
+            int tickRate = in.readInt();
+            if (tickRate != Constants.TICK_RATE) {
+                throw new IOException("Recording made at " + tickRate + " ticks/s, game runs at " + Constants.TICK_RATE);
+            }
+
+            long tick = 0;
+            while (true) {
+                tick += readVarLong(in);
+                int op = in.readUnsignedByte();
+                if (op == InputRecorder.OP_STOP) {
+                    length = tick;
+                    break;
+                }
+                while (op != InputRecorder.OP_END) {
+                    events.add(readEvent(in, tick, op));
+                    op = in.readUnsignedByte();
+                }
+            }
+        }
+    }
+
+    /**
+     * Lit les paramètres d'un changement.
+     *
+     * @param in Le flux d'entrée.
+     * @param tick Le tick du changement.
+     * @param op Le code du changement.
+     * @return Le changement lu.
+     * @throws IOException Si le code est inconnu ou le fichier tronqué.
+     */
+    private static Event readEvent(DataInputStream in, long tick, int op) throws IOException {
+        Event event = new Event();
+        event.tick = tick;
+        event.op = op;
+        switch (op) {
+            case InputRecorder.OP_KEY_DOWN:
+            case InputRecorder.OP_KEY_UP:
+                event.value = in.readUnsignedByte();
+                break;
+            case InputRecorder.OP_MOUSE_POSITION:
+            case InputRecorder.OP_MOUSE_DELTA:
+                event.x = in.readFloat();
+                event.y = in.readFloat();
+                break;
+            case InputRecorder.OP_MOUSE_BUTTON:
+                event.value = in.readUnsignedByte();
+                event.button = in.readByte();
+                break;
+            default:
+                throw new IOException("Unknown input op " + op + " at tick " + tick);
+        }
+        return event;
+    }
+
+    /**
+     * Applique les changements enregistrés pour le tick donné.
+     *
+     * @param tick Numéro du tick sur le point d'être exécuté.
+     * @param input Les entrées du tick à mettre à jour.
+     */
+    @Override
+    public void apply(long tick, InputState input) {
+        while (next < events.size() && events.get(next).tick <= tick) {
+            Event e = events.get(next++);
+            switch (e.op) {
+                case InputRecorder.OP_KEY_DOWN:
+                    input.setKeyPressed(e.value, true);
+                    break;
+                case InputRecorder.OP_KEY_UP:
+                    input.setKeyPressed(e.value, false);
+                    break;
+                case InputRecorder.OP_MOUSE_POSITION:
+                    input.x = e.x;
+                    input.y = e.y;
+                    break;
+                case InputRecorder.OP_MOUSE_DELTA:
+                    input.dx = e.x;
+                    input.dy = e.y;
+                    break;
+                case InputRecorder.OP_MOUSE_BUTTON:
+                    input.mousePressed = (e.value & 1) != 0;
+                    input.mouseDragged = (e.value & 2) != 0;
+                    input.mouseButton = e.button;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @return La durée totale de l'enregistrement, en ticks.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Indique si tous les changements ont été rejoués.
+     *
+     * @param tick Le tick courant.
+     * @return true si l'enregistrement est terminé.
+     */
+    public boolean isFinished(long tick) {
+        return tick >= length;
+    }
+
+    /**
+     * Lit un entier positif écrit par {@link InputRecorder#writeVarLong}.
+     *
+     * @param in Le flux d'entrée.
+     * @return La valeur lue.
+     * @throws IOException Si le fichier est tronqué.
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,66 @@
+package engine;
+
+/**
+ * État des entrées clavier et souris figé pour la durée d'un tick.
+ *
+ * <p>{@link KL} et {@link ML} sont modifiés par le thread AWT à tout moment. Au début de chaque
+ * tick, la fenêtre recopie leur état dans cet objet (ou y applique un rejeu), et le jeu,
+ * l'enregistreur et le rejeu ne lisent que cette copie : une touche pressée pendant un tick
+ * n'est vue qu'au tick suivant, par le jeu comme par l'enregistrement.</p>
+ */
+public class InputState {
+    /** État de chaque touche, indexé par code de touche. */
+    private final boolean[] keyPressed = new boolean[InputRecorder.KEY_COUNT];
+
+    /** Indique si un bouton de la souris est pressé. */
+    public boolean mousePressed = false;
+
+    /** Indique si la souris est déplacée avec un bouton pressé. */
+    public boolean mouseDragged = false;
+
+    /** Bouton pressé, -1 si aucun. */
+    public int mouseButton = -1;
+
+    /** Coordonnées de la souris. */
+    public float x = -1.0f, y = -1.0f;
+
+    /** Déplacement de la souris. */
+    public float dx = -1.0f, dy = -1.0f;
+
+    /**
+     * Recopie l'état courant des gestionnaires d'événements.
+     *
+     * @param keyListener Les entrées clavier reçues d'AWT.
+     * @param mouseListener Les entrées souris reçues d'AWT.
+     */
+    public void copyFrom(KL keyListener, ML mouseListener) {
+        keyListener.copyTo(keyPressed);
+        synchronized (mouseListener) {
+            mousePressed = mouseListener.mousePressed;
+            mouseDragged = mouseListener.mouseDragged;
+            mouseButton = mouseListener.mouseButton;
+            x = mouseListener.x;
+            y = mouseListener.y;
+            dx = mouseListener.dx;
+            dy = mouseListener.dy;
+        }
+    }
+
+    /**
+     * @param keyCode Le code de la touche.
+     * @return true si la touche est enfoncée pendant ce tick.
+     */
+    public boolean isKeyPressed(int keyCode) {
+        return keyCode >= 0 && keyCode < keyPressed.length && keyPressed[keyCode];
+    }
+
+    /**
+     * Force l'état d'une touche, pour les entrées scriptées ou rejouées.
+     *
+     * @param keyCode Le code de la touche.
+     * @param pressed true si la touche doit être considérée comme enfoncée.
+     */
+    public void setKeyPressed(int keyCode, boolean pressed) {
+        keyPressed[keyCode] = pressed;
+    }
+}
@@ -13,17 +13,27 @@ public class KL extends KeyAdapter implements KeyListener {
     private boolean keyPressed [] = new boolean[128];
 
     @Override
-    public void keyPressed(java.awt.event.KeyEvent e) {
-        keyPressed[e.getKeyCode()] = true;
+    public synchronized void keyPressed(java.awt.event.KeyEvent e) {
+        if (e.getKeyCode() < keyPressed.length) {
+            keyPressed[e.getKeyCode()] = true;
+        }
     }
 
     @Override
-    public void keyReleased(java.awt.event.KeyEvent e) {
-        keyPressed[e.getKeyCode()] = false;
+    public synchronized void keyReleased(java.awt.event.KeyEvent e) {
+        if (e.getKeyCode() < keyPressed.length) {
+            keyPressed[e.getKeyCode()] = false;
+        }
     }
 
-    public boolean isKeyPressed(int keyCode){
-        return keyPressed[keyCode];
+    /**
+     * Recopie l'état de toutes les touches. Le jeu lit ses entrées dans un {@link InputState},
+     * rempli par cette méthode au début de chaque tick.
+     * 
+     * @param keys Tableau de destination, de même taille que celui des touches.
+     */
+    public synchronized void copyTo(boolean[] keys){
+        System.arraycopy(keyPressed, 0, keys, 0, keyPressed.length);
     }
     
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -2,24 +2,36 @@ package engine;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.awt.geom.Area;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 import Component.*;
 import dataStructure.AssetPool;
 import dataStructure.Transform;
 import file.Parser;
 import ui.MainContainer;
+import ui.MenuItem;
 import util.Constants;
 import util.Vector2;
 
 /**
  * Scène de l'éditeur de niveau, permettant de concevoir et de manipuler les éléments
  * d'un niveau avant de les sauvegarder ou de les charger.
+ *
+ * <p>L'éditeur est dessiné dans une image persistante où seules les zones modifiées depuis la
+ * frame précédente sont redessinées : déplacement du curseur, pose ou suppression d'un bloc,
+ * sélection dans la palette, objets mobiles. Un déplacement de la caméra redessine tout. Quand
+ * rien n'a changé, {@link #needsRepaint()} permet à la fenêtre de ne rien dessiner ni présenter.</p>
  */
 public class LevelEditorScene extends Scene {
 
@@ -41,6 +53,28 @@ public class LevelEditorScene extends Scene {
     /** Conteneur pour les boutons d'édition dans l'interface utilisateur. */
     private MainContainer editingButtons;
 
+    /** Zone de l'écran à redessiner à la prochaine frame. */
+    private final DirtyRegion dirty = new DirtyRegion();
+
+    /** Image persistante de l'éditeur, mise à jour zone par zone. */
+    private BufferedImage canvas = null;
+
+    /** Profil de qualité avec lequel {@link #canvas} a été dessinée. */
+    private RenderQuality canvasQuality = null;
+
+    /** Indique si la caméra s'est déplacée au tick précédent (interpolation pas encore terminée). */
+    private boolean cameraMoved = false;
+
+    /** Curseur et rectangle qu'il occupait à l'écran au tick précédent. */
+    private GameObject lastCursor = null;
+    private Rectangle lastCursorBounds = new Rectangle();
+
+    /** Sélection de chaque élément de la palette au tick précédent. */
+    private boolean[] lastSelected;
+
+    /** Position et rotation des objets mobiles au tick précédent : x, y, rotation, 1 si déplacé. */
+    private final Map<GameObject, float[]> lastDynamic = new IdentityHashMap<>();
+
     /**
      * Constructeur de la scène de l'éditeur de niveaux.
      *
@@ -123,17 +157,151 @@ public class LevelEditorScene extends Scene {
         grid.update(deltaTime);
         editingButtons.update(deltaTime);
         mouseCursor.update(deltaTime);
+        collectDirty();
 
         // Gestion des entrées clavier
-        if (Window.getWindow().keyListener.isKeyPressed(KeyEvent.VK_S)) {
+        if (Window.getWindow().input.isKeyPressed(KeyEvent.VK_S)) {
             export("Test");
-        } else if (Window.getWindow().keyListener.isKeyPressed(KeyEvent.VK_L)) {
+        } else if (Window.getWindow().input.isKeyPressed(KeyEvent.VK_L)) {
             importLevel("Test");
-        } else if (Window.getWindow().keyListener.isKeyPressed(KeyEvent.VK_E)) {
+        } else if (Window.getWindow().input.isKeyPressed(KeyEvent.VK_E)) {
             Window.getWindow().changeScene(1);
         }
     }
 
+    /**
+     * Ajoute à la zone à redessiner tout ce qui a changé pendant le tick.
+     */
+    private void collectDirty() {
+        // Caméra : tout l'écran se décale, jusqu'à la fin de l'interpolation
+        boolean moved = camera.position.x != camera.previousPosition.x ||
+            camera.position.y != camera.previousPosition.y;
+        if (moved || cameraMoved) {
+            dirty.addAll();
+        }
+        cameraMoved = moved;
+
+        // Curseur : ancienne et nouvelle position
+        Rectangle cursorBounds = cursorBounds();
+        if (mouseCursor != lastCursor || !cursorBounds.equals(lastCursorBounds)) {
+            addDirty(lastCursorBounds);
+            addDirty(cursorBounds);
+            lastCursor = mouseCursor;
+            lastCursorBounds = cursorBounds;
+        }
+
+        // Palette : éléments dont la sélection a changé
+        if (lastSelected == null) {
+            lastSelected = new boolean[editingButtons.menuItems.size()];
+        }
+        for (int i = 0; i < lastSelected.length; i++) {
+            GameObject item = editingButtons.menuItems.get(i);
+            boolean selected = item.getComponent(MenuItem.class).isSelected;
+            if (selected != lastSelected[i]) {
+                dirty.add((int)item.transform.position.x, (int)item.transform.position.y,
+                    Constants.BUTTON_WIDTH, Constants.BUTTON_HEIGHT);
+                lastSelected[i] = selected;
+            }
+        }
+
+        // Objets mobiles : ancienne et nouvelle position, et une fois de plus après leur arrêt
+        for (GameObject g : gameObjects) {
+            if (g.isStatic) continue;
+            float[] last = lastDynamic.get(g);
+            if (last == null) {
+                lastDynamic.put(g, new float[] { g.transform.position.x, g.transform.position.y, g.transform.rotation, 1 });
+                invalidate(g);
+                continue;
+            }
+            boolean changed = last[0] != g.transform.position.x || last[1] != g.transform.position.y ||
+                last[2] != g.transform.rotation;
+            if (changed || last[3] != 0) {
+                addDirty(worldBounds(g, last[0], last[1], last[2]));
+                invalidate(g);
+            }
+            last[0] = g.transform.position.x;
+            last[1] = g.transform.position.y;
+            last[2] = g.transform.rotation;
+            last[3] = changed ? 1 : 0;
+        }
+    }
+
+    /**
+     * @return Le rectangle occupé à l'écran par le curseur (vide s'il n'a pas de sprite).
+     */
+    private Rectangle cursorBounds() {
+        Sprite sprite = mouseCursor.getComponent(Sprite.class);
+        if (sprite == null) return new Rectangle();
+        return new Rectangle((int)mouseCursor.transform.position.x, (int)mouseCursor.transform.position.y,
+            sprite.width, sprite.height);
+    }
+
+    /**
+     * Calcule le rectangle occupé à l'écran par un objet du monde, agrandi pour contenir l'objet
+     * quelle que soit sa rotation.
+     *
+     * @param g L'objet.
+     * @param x Abscisse de l'objet dans le monde.
+     * @param y Ordonnée de l'objet dans le monde.
+     * @param rotation Rotation de l'objet, en degrés.
+     * @return Le rectangle à l'écran.
+     */
+    private Rectangle worldBounds(GameObject g, float x, float y, float rotation) {
+        float width = Renderer.width(g);
+        float height = Renderer.height(g);
+        float margin = 1;
+        if (rotation != 0) {
+            // La rotation se fait autour du centre : la diagonale borne l'objet tourné
+            margin += ((float)Math.hypot(width, height) - Math.min(width, height)) / 2;
+        }
+        int left = (int)Math.floor(x - camera.position.x - margin);
+        int top = (int)Math.floor(y - camera.position.y - margin);
+        return new Rectangle(left, top, (int)Math.ceil(width + 2 * margin) + 1, (int)Math.ceil(height + 2 * margin) + 1);
+    }
+
+    /**
+     * Marque à redessiner la zone de l'écran occupée par un objet du monde.
+     *
+     * @param g L'objet.
+     */
+    private void invalidate(GameObject g) {
+        addDirty(worldBounds(g, g.transform.position.x, g.transform.position.y, g.transform.rotation));
+    }
+
+    /**
+     * Ajoute un rectangle non vide à la zone à redessiner.
+     *
+     * @param r Le rectangle, à l'écran.
+     */
+    private void addDirty(Rectangle r) {
+        if (!r.isEmpty()) {
+            dirty.add(r.x, r.y, r.width, r.height);
+        }
+    }
+
+    /**
+     * Ajoute un objet à la scène et redessine la zone qu'il occupe.
+     *
+     * @param g L'objet de jeu à ajouter.
+     */
+    @Override
+    public void addGameObject(GameObject g) {
+        super.addGameObject(g);
+        invalidate(g);
+    }
+
+    /**
+     * Retire un objet de la scène et redessine la zone qu'il occupait.
+     *
+     * @param g L'objet de jeu à retirer.
+     */
+    @Override
+    public void removeGameObject(GameObject g) {
+        super.removeGameObject(g);
+        lastDynamic.remove(g);
+        invalidate(g);
+    }
+
     /**
      * Importe un niveau depuis un fichier JSON.
      *
@@ -142,11 +310,19 @@ public class LevelEditorScene extends Scene {
     private void importLevel(String filename) {
         Parser.openFile(filename);
 
+        List<GameObject> imported = new ArrayList<>();
         GameObject go = Parser.parseGameObject();
         while (go != null) {
-            addGameObject(go);
+            go.setStatic(true);
+            imported.add(go);
             go = Parser.parseGameObject();
         }
+
+        // Empaquette le lot avant l'ajout, pour que ses images soient rangées ensemble
+        packSprites(imported);
+        for (GameObject object : imported) {
+            addGameObject(object);
+        }
     }
 
     /**
@@ -189,12 +365,52 @@ public class LevelEditorScene extends Scene {
     }
 
     /**
-     * Dessine la scène et ses éléments graphiques.
+     * @return true si une zone de l'éditeur a changé depuis la dernière frame.
+     */
+    @Override
+    public boolean needsRepaint() {
+        return canvas == null || !dirty.isEmpty() || renderer.hasPendingChunks();
+    }
+
+    /**
+     * Dessine la scène : redessine les zones modifiées dans l'image persistante, puis la copie.
      *
      * @param g2 Contexte graphique utilisé pour le rendu.
      */
     @Override
     public void draw(Graphics2D g2) {
+        if (canvas == null) {
+            canvas = new BufferedImage(Constants.WIDTH, Constants.HEIGHT, BufferedImage.TYPE_INT_RGB);
+            dirty.addAll();
+        }
+        if (renderer.hasPendingChunks()) {
+            // Des morceaux dessinés en arrière-plan peuvent être prêts : ils couvrent tout l'écran
+            dirty.addAll();
+        }
+        RenderQuality quality = Window.getWindow().getRenderQuality();
+        if (quality != canvasQuality) {
+            // L'image persistante a été dessinée avec l'ancien profil
+            canvasQuality = quality;
+            dirty.addAll();
+        }
+
+        Area area = dirty.drain();
+        if (area != null) {
+            Graphics2D g = canvas.createGraphics();
+            quality.apply(g);
+            g.setClip(area);
+            paint(g);
+            g.dispose();
+        }
+        g2.drawImage(canvas, 0, 0, null);
+    }
+
+    /**
+     * Dessine tous les éléments de l'éditeur, limités à la zone de découpe du contexte.
+     *
+     * @param g2 Contexte graphique utilisé pour le rendu.
+     */
+    private void paint(Graphics2D g2) {
         // Fond de la scène
         g2.setColor(Color.WHITE);
         g2.fillRect(0, 0, Constants.WIDTH, Constants.HEIGHT);
@@ -1,11 +1,15 @@
 package engine;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import javax.swing.Box;
 import Component.*;
 import engine.Renderer;
 import dataStructure.AssetPool;
+import dataStructure.SpatialGrid;
+import dataStructure.SweepWindow;
 import dataStructure.Transform;
 import file.Parser;
 import util.Constants;
@@ -16,6 +20,25 @@ import util.Vector2;
  */
 public class LevelScene extends Scene {
 
+    /**
+     * Index des boîtes de collision fixes utilisé par la passe de collision. Les deux rendent
+     * les boîtes proches du joueur dans leur ordre d'ajout : le résultat des collisions est le
+     * même, seul le coût change.
+     */
+    public enum Broadphase {
+        /**
+         * Grille spatiale à cellules de la taille d'une tuile : ne teste que les boîtes des
+         * cellules autour du joueur, quel que soit son déplacement.
+         */
+        GRID,
+
+        /**
+         * Fenêtre glissante sur les boîtes triées par bord gauche : presque aucun coût
+         * d'entretien quand le joueur ne fait qu'avancer vers la droite, comme dans un niveau.
+         */
+        SWEEP
+    }
+
     /** Instance actuelle de la scène de niveau. */
     static LevelScene currentScene;
 
@@ -25,13 +48,42 @@ public class LevelScene extends Scene {
     /** Boîte de collision du joueur. */
     public BoxBounds playerBounds;
 
+    /** Nom du fichier de niveau à charger (dans le dossier levels, sans extension). */
+    private String levelFile;
+
+    /** Index utilisé pour les boîtes de collision fixes. */
+    private Broadphase broadphase = Broadphase.SWEEP;
+
+    /** Boîtes de collision des objets fixes, dans une grille à la taille des tuiles ({@link Broadphase#GRID}). */
+    private final SpatialGrid<Bounds> staticGrid = new SpatialGrid<>(Constants.TILE_WIDTH);
+
+    /** Boîtes de collision des objets fixes, triées par bord gauche ({@link Broadphase#SWEEP}). */
+    private SweepWindow<Bounds> staticSweep = new SweepWindow<>();
+
+    /** Boîtes de collision des objets mobiles, testées à chaque tick. */
+    private final List<Bounds> movingBounds = new ArrayList<>();
+
+    /** Boîtes candidates du tick en cours (réutilisée pour éviter les allocations). */
+    private final List<Bounds> candidates = new ArrayList<>();
+
     /**
      * Constructeur de la scène de niveau.
      *
      * @param name Nom de la scène.
      */
     public LevelScene(String name) {
+        this(name, "Test");
+    }
+
+    /**
+     * Constructeur de la scène de niveau chargeant un fichier de niveau précis.
+     *
+     * @param name Nom de la scène.
+     * @param levelFile Nom du fichier de niveau (dans le dossier levels, sans extension).
+     */
+    public LevelScene(String name, String levelFile) {
         super.Scene(name);
+        this.levelFile = levelFile;
     }
 
     /**
@@ -67,11 +119,12 @@ public class LevelScene extends Scene {
         initBackgrounds();
 
         // Chargement du niveau depuis un fichier
-        importLevel("Test");
+        importLevel(levelFile);
     }
 
     /**
-     * Initialise les arrière-plans et le sol pour la scène.
+     * Initialise les arrière-plans et le sol pour la scène : un seul objet dessine toutes les
+     * couches de l'arrière-plan, derrière les objets du niveau.
      */
     public void initBackgrounds() {
         GameObject ground;
@@ -79,42 +132,20 @@ public class LevelScene extends Scene {
         ground.addComponent(new Ground());
         addGameObject(ground);
 
-        int numBackgrounds = 7;
-        GameObject[] backgrounds = new GameObject[numBackgrounds];
-        GameObject[] groundBgs = new GameObject[numBackgrounds]; 
-        
         Ground groundComponent = ground.getComponent(Ground.class);
         if (groundComponent == null) {
             throw new NullPointerException("Ground component is not initialized.");
         }
-        for (int i = 0; i < numBackgrounds; i++) {
-        // Arrière-plan
-        ParallaxBackground bg = new ParallaxBackground("assets/backgrounds/bg01.png", backgrounds, groundComponent, false);
-        if (bg.sprite == null) {
-            throw new NullPointerException("Background sprite is not initialized.");
-        }
-            int x = i * bg.sprite.width;
-            int y = 0;
-
-            GameObject go = new GameObject("Background", new Transform(new Vector2(x, y)), -10);
-            go.setUi(true);
-            go.addComponent(bg);
-            backgrounds[i] = go;
-
-            // Sol de l'arrière-plan
-            ParallaxBackground groundBg = new ParallaxBackground("assets/grounds/ground01.png", groundBgs, ground.getComponent(Ground.class), true);
-            x = i * bg.sprite.width;
-            y = bg.sprite.height;
-
-            GameObject groundGo = new GameObject("GroundBg", new Transform(new Vector2(x, y)), -9);
-            groundGo.addComponent(groundBg);
-            groundGo.setUi(true);
-            groundBgs[i] = groundGo;
-
-            // Ajout des objets au jeu
-            addGameObject(go);
-            addGameObject(groundGo);
-        }
+
+        // Ciel étiré sur la hauteur de l'écran, puis sol de l'arrière-plan
+        ParallaxLayer parallax = new ParallaxLayer(groundComponent);
+        parallax.addLayer("assets/backgrounds/bg01.png", 80.0f, Constants.HEIGHT, false);
+        parallax.addLayer("assets/grounds/ground01.png", Constants.PLAYER_SPEED - 35, Constants.GROUND_BG_HEIGHT, true);
+
+        GameObject background = new GameObject("Background", new Transform(new Vector2()), -10);
+        background.setUi(true);
+        background.addComponent(parallax);
+        addGameObject(background);
     }
 
     /**
@@ -151,14 +182,163 @@ public class LevelScene extends Scene {
 
         for (GameObject g : gameObjects) {
             g.update(deltaTime);
+        }
 
-            Bounds b = g.getComponent(Bounds.class);
-            if (b != null) {
-                if (BoxBounds.checkCollision(playerBounds, b)) {
-                    Bounds.resolveCollision(b, player);
+        // Passe de collision, mesurée séparément par le profileur
+        long start = Window.getWindow().profiler.begin();
+        collectCandidates();
+        for (int i = 0; i < candidates.size(); i++) {
+            Bounds b = candidates.get(i);
+            if (Bounds.checkCollision(playerBounds, b)) {
+                float x = player.transform.position.x;
+                Bounds.resolveCollision(b, player);
+                if (player.transform.position.x != x) {
+                    recollectCandidates(i);
                 }
             }
         }
+        candidates.clear();
+        Window.getWindow().profiler.end(FrameProfiler.Phase.COLLISION, start);
+    }
+
+    /**
+     * Change l'index des boîtes de collision fixes ; les boîtes déjà ajoutées y sont rangées
+     * dans leur ordre d'ajout.
+     *
+     * @param broadphase Le nouvel index.
+     */
+    public void setBroadphase(Broadphase broadphase) {
+        if (this.broadphase == broadphase) return;
+
+        staticGrid.clear();
+        staticSweep = new SweepWindow<>();
+        this.broadphase = broadphase;
+        for (GameObject g : gameObjects) {
+            Bounds b = g.getComponent(Bounds.class);
+            if (b != null && g.isStatic) {
+                insertStatic(g, b);
+            }
+        }
+    }
+
+    /**
+     * @return L'index utilisé pour les boîtes de collision fixes.
+     */
+    public Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Remplit {@link #candidates} avec les boîtes qui peuvent toucher le joueur : les boîtes
+     * fixes proches de lui, dans leur ordre d'ajout, puis les boîtes mobiles.
+     */
+    private void collectCandidates() {
+        queryStatic();
+        candidates.addAll(movingBounds);
+    }
+
+    /**
+     * Ajoute à {@link #candidates}, dans leur ordre d'ajout, les boîtes fixes autour du joueur.
+     * La zone est élargie d'une tuile, la résolution d'une collision pouvant déplacer le joueur.
+     * La fenêtre glissante ne regarde que l'axe x, et se reconstruit d'elle-même quand le joueur
+     * revient au début du niveau.
+     */
+    private void queryStatic() {
+        Vector2 position = player.transform.position;
+        if (broadphase == Broadphase.GRID) {
+            staticGrid.queryOrdered(position.x - Constants.TILE_WIDTH, position.y - Constants.TILE_HEIGHT,
+                playerBounds.width + 2 * Constants.TILE_WIDTH, playerBounds.height + 2 * Constants.TILE_HEIGHT,
+                candidates);
+        } else {
+            staticSweep.query(position.x - Constants.TILE_WIDTH,
+                position.x + playerBounds.width + Constants.TILE_WIDTH, candidates);
+        }
+    }
+
+    /**
+     * @param b Une boîte de collision.
+     * @return Son numéro d'ordre d'ajout dans l'index des boîtes fixes, ou -1 si elle est mobile.
+     */
+    private long staticOrder(Bounds b) {
+        return broadphase == Broadphase.GRID ? staticGrid.orderOf(b) : staticSweep.orderOf(b);
+    }
+
+    /**
+     * Range la boîte d'un objet fixe dans l'index courant.
+     *
+     * @param g L'objet fixe.
+     * @param b Sa boîte de collision.
+     */
+    private void insertStatic(GameObject g, Bounds b) {
+        Vector2 position = g.transform.position;
+        if (broadphase == Broadphase.GRID) {
+            staticGrid.insert(b, position.x, position.y, b.getWidth(), b.getHeight());
+        } else {
+            staticSweep.insert(b, position.x, position.x + b.getWidth());
+        }
+    }
+
+    /**
+     * Remplace les candidates qui suivent celle d'index donné après un déplacement horizontal du
+     * joueur pendant la passe de collision : seul {@link Player#die()} le fait, en le ramenant au
+     * début du niveau, loin de la zone interrogée. Comme avec un parcours de tous les objets,
+     * les boîtes ajoutées après celle qui vient d'être résolue sont testées à la nouvelle
+     * position dès ce tick.
+     *
+     * @param index Index de la candidate qui vient d'être résolue.
+     */
+    private void recollectCandidates(int index) {
+        long order = staticOrder(candidates.get(index));
+        if (order < 0) return; // Boîte mobile : les suivantes ne dépendent pas de la position
+
+        candidates.subList(index + 1, candidates.size()).clear();
+        queryStatic();
+
+        // Les boîtes fixes sont rendues par ordre d'ajout : seules celles ajoutées après restent
+        int kept = index + 1;
+        for (int i = index + 1; i < candidates.size(); i++) {
+            if (staticOrder(candidates.get(i)) > order) {
+                candidates.set(kept++, candidates.get(i));
+            }
+        }
+        candidates.subList(kept, candidates.size()).clear();
+        candidates.addAll(movingBounds);
+    }
+
+    /**
+     * Ajoute un objet à la scène et range sa boîte de collision : dans l'index des boîtes fixes
+     * s'il est fixe, sinon dans la liste des boîtes testées à chaque tick.
+     *
+     * @param g L'objet de jeu à ajouter.
+     */
+    @Override
+    public void addGameObject(GameObject g) {
+        super.addGameObject(g);
+        Bounds b = g.getComponent(Bounds.class);
+        if (b == null) return;
+
+        if (g.isStatic) {
+            insertStatic(g, b);
+        } else {
+            movingBounds.add(b);
+        }
+    }
+
+    /**
+     * Retire un objet de la scène et sa boîte de collision.
+     *
+     * @param g L'objet de jeu à retirer.
+     */
+    @Override
+    public void removeGameObject(GameObject g) {
+        super.removeGameObject(g);
+        Bounds b = g.getComponent(Bounds.class);
+        if (b == null) return;
+
+        boolean removed = broadphase == Broadphase.GRID ? staticGrid.remove(b) : staticSweep.remove(b);
+        if (!removed) {
+            movingBounds.remove(b);
+        }
     }
 
     /**
@@ -169,11 +349,19 @@ public class LevelScene extends Scene {
     private void importLevel(String filename) {
         Parser.openFile(filename);
 
+        List<GameObject> imported = new ArrayList<>();
         GameObject go = Parser.parseGameObject();
         while (go != null) {
-            addGameObject(go);
+            go.setStatic(true);
+            imported.add(go);
             go = Parser.parseGameObject();
         }
+
+        // Empaquette le lot avant l'ajout, pour que ses images soient rangées ensemble
+        packSprites(imported);
+        for (GameObject object : imported) {
+            addGameObject(object);
+        }
     }
 
     /**
@@ -6,6 +6,10 @@ import java.awt.event.MouseEvent;
 // Mouse listener qui sera principalement utilisé pour les inputs passés pour le map editor
 // (Mouse listener that will be mainly used for inputs passed to the map editor)
 
+/**
+ * Reçoit les événements souris d'AWT. Le jeu ne lit pas ces champs directement : ils sont
+ * recopiés dans un {@link InputState} au début de chaque tick.
+ */
 public class ML extends MouseAdapter {
     public boolean mousePressed = false; // Indique si un bouton de la souris est pressé
     public boolean mouseDragged = false; // Indique si la souris est déplacée avec un bouton pressé
@@ -14,13 +18,13 @@ public class ML extends MouseAdapter {
     public float dx = -1.0f, dy = -1.0f; // Déplacement de la souris
 
     @Override
-    public void mousePressed(MouseEvent e) {
+    public synchronized void mousePressed(MouseEvent e) {
         this.mousePressed = true; // Un bouton est pressé
         this.mouseButton = e.getButton(); // Check quel bouton est pressé
     }
 
     @Override
-    public void mouseReleased(MouseEvent mouseEvent) { // Override si un bouton est relâché
+    public synchronized void mouseReleased(MouseEvent mouseEvent) { // Override si un bouton est relâché
         this.mousePressed = false;
         this.mouseDragged = false;
         this.dx = 0; // Réinitialise les déplacements
@@ -28,13 +32,13 @@ public class ML extends MouseAdapter {
     }
 
     @Override
-    public void mouseMoved(MouseEvent mouseEvent) { // Mets à jour la position si la souris est bougée
+    public synchronized void mouseMoved(MouseEvent mouseEvent) { // Mets à jour la position si la souris est bougée
         this.x = mouseEvent.getX(); 
         this.y = mouseEvent.getY();
     }
 
     @Override
-    public void mouseDragged(MouseEvent mouseEvent) {
+    public synchronized void mouseDragged(MouseEvent mouseEvent) {
         this.mouseDragged = true;
         this.dx = mouseEvent.getX() - this.x; // Calcule le déplacement horizontal 
         this.dy = mouseEvent.getY() - this.y; // Calcule le déplacement vertical
@@ -42,4 +46,4 @@ public class ML extends MouseAdapter {
         this.y = mouseEvent.getY(); // Met à jour la position y
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dataStructure.SpatialGrid;
+
+/**
+ * Un calque de rendu : les objets d'un même zIndex.
+ *
+ * <p>Les objets fixes sont indexés par position pour que le renderer ne dessine que ceux
+ * visibles ; les objets mobiles sont gardés dans l'ordre d'ajout. Les deux structures
+ * permettent d'ajouter et de retirer un objet en temps constant.</p>
+ *
+ * <p>Le calque est dessiné dans l'ordre d'ajout de tous ses objets : chaque objet mobile retient
+ * le numéro d'ordre du prochain objet fixe au moment de son ajout, et les objets fixes ajoutés
+ * avant lui sont dessinés avant lui.</p>
+ */
+class RenderLayer {
+
+    /** Profondeur du calque (plus grand = plus proche de l'utilisateur). */
+    final int zIndex;
+
+    /** Objets fixes, indexés par position. */
+    final SpatialGrid<GameObject> staticObjects;
+
+    /**
+     * Objets mobiles et éléments d'interface, dans l'ordre d'ajout, avec le numéro d'ordre
+     * qu'avait le prochain objet fixe à leur ajout ({@link SpatialGrid#nextOrder()}).
+     */
+    final Map<GameObject, Long> dynamicObjects = new LinkedHashMap<>();
+
+    /**
+     * Crée un calque vide.
+     *
+     * @param zIndex Profondeur du calque.
+     * @param cellSize Taille des cellules de l'index des objets fixes, en pixels.
+     */
+    RenderLayer(int zIndex, int cellSize) {
+        this.zIndex = zIndex;
+        this.staticObjects = new SpatialGrid<>(cellSize);
+    }
+
+    /**
+     * @return true si le calque ne contient plus aucun objet.
+     */
+    boolean isEmpty() {
+        return dynamicObjects.isEmpty() && staticObjects.size() == 0;
+    }
+}
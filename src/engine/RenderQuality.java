@@ -0,0 +1,86 @@
+package engine;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.Locale;
+
+/**
+ * Profils de qualité du rendu : chacun fixe les {@link RenderingHints} du contexte graphique
+ * de la frame, au lieu de dépendre des valeurs par défaut de la plateforme.
+ *
+ * <p>Le profil peut être changé en cours de partie (F4) : les mesures de la phase
+ * {@link FrameProfiler.Phase#RENDER} sont alors remises à zéro, pour que la surimpression
+ * n'affiche que le coût du nouveau profil.</p>
+ */
+public enum RenderQuality {
+    /** Plus proche voisin, sans anticrénelage : le moins cher, pour les machines modestes. */
+    SPEED(RenderingHints.VALUE_RENDER_SPEED,
+          RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR,
+          RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED,
+          RenderingHints.VALUE_ANTIALIAS_OFF,
+          RenderingHints.VALUE_TEXT_ANTIALIAS_OFF),
+
+    /** Sprites filtrés en bilinéaire, formes sans anticrénelage. */
+    BALANCED(RenderingHints.VALUE_RENDER_DEFAULT,
+             RenderingHints.VALUE_INTERPOLATION_BILINEAR,
+             RenderingHints.VALUE_ALPHA_INTERPOLATION_DEFAULT,
+             RenderingHints.VALUE_ANTIALIAS_OFF,
+             RenderingHints.VALUE_TEXT_ANTIALIAS_ON),
+
+    /** Filtrage bicubique et anticrénelage partout. */
+    QUALITY(RenderingHints.VALUE_RENDER_QUALITY,
+            RenderingHints.VALUE_INTERPOLATION_BICUBIC,
+            RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY,
+            RenderingHints.VALUE_ANTIALIAS_ON,
+            RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+    /** Les indications appliquées par ce profil. */
+    private final RenderingHints hints;
+
+    RenderQuality(Object rendering, Object interpolation, Object alphaInterpolation,
+                  Object antialiasing, Object textAntialiasing) {
+        this.hints = new RenderingHints(RenderingHints.KEY_RENDERING, rendering);
+        hints.put(RenderingHints.KEY_INTERPOLATION, interpolation);
+        hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, alphaInterpolation);
+        hints.put(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialiasing);
+    }
+
+    /**
+     * Applique le profil à un contexte graphique.
+     *
+     * @param g2 Le contexte graphique.
+     */
+    public void apply(Graphics2D g2) {
+        g2.addRenderingHints(hints);
+    }
+
+    /**
+     * @return Le profil suivant, en revenant au premier après le dernier.
+     */
+    public RenderQuality next() {
+        RenderQuality[] values = values();
+        return values[(ordinal() + 1) % values.length];
+    }
+
+    /**
+     * Retrouve un profil par son nom, sans tenir compte de la casse ("speed", "balanced", "quality").
+     *
+     * @param name Le nom du profil.
+     * @return Le profil correspondant.
+     * @throws IllegalArgumentException Si le nom ne correspond à aucun profil.
+     */
+    public static RenderQuality fromName(String name) {
+        for (RenderQuality quality : values()) {
+            if (quality.name().equalsIgnoreCase(name)) {
+                return quality;
+            }
+        }
+        throw new IllegalArgumentException("Unknown render quality '" + name + "', expected speed, balanced or quality");
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
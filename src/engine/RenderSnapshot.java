@@ -0,0 +1,206 @@
+package engine;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import dataStructure.Transform;
+import util.Vector2;
+
+/**
+ * Instantané de l'état dessinable d'une scène, produit par le thread de simulation et lu par
+ * le thread de rendu.
+ *
+ * <p>Chaque composant dessiné y ajoute une entrée ({@link Component#capture(RenderSnapshot)}),
+ * dans l'ordre de rendu (zIndex croissant), avec une copie de sa transformation au tick courant
+ * et au tick précédent. Une entrée est soit une image copiée avec la zone à dessiner (sprites),
+ * soit un composant qui se dessine à partir de la transformation et d'une valeur copiées : le
+ * thread de rendu ne lit jamais l'état des objets de la simulation. Une fois publié par
+ * {@link SnapshotExchange}, l'instantané n'est plus modifié jusqu'à ce que le thread de rendu
+ * le rende : les tableaux sont réutilisés d'une publication à l'autre pour ne rien allouer.</p>
+ *
+ * <p>Le {@link ChunkCache} s'en sert aussi pour dessiner les morceaux d'objets fixes sur
+ * d'autres threads, à partir d'un instantané propre à chaque morceau.</p>
+ */
+public class RenderSnapshot {
+
+    /** Nombre d'entrées enregistrées. */
+    int size = 0;
+
+    /** Composant qui dessine chaque entrée, null pour une image copiée. */
+    Component[] components = new Component[64];
+
+    /** Image de chaque entrée sans composant (image du sprite ou page de l'atlas). */
+    BufferedImage[] images = new BufferedImage[64];
+
+    /** Zone de l'image à dessiner. */
+    int[] sourceX = new int[64], sourceY = new int[64];
+    int[] sourceWidth = new int[64], sourceHeight = new int[64];
+
+    /** Taille d'affichage de l'image. */
+    int[] width = new int[64], height = new int[64];
+
+    /** Valeur propre au composant (temps de défilement...), au tick courant et au tick précédent. */
+    double[] value = new double[64], previousValue = new double[64];
+
+    /** Positions au tick courant et au tick précédent. */
+    float[] x = new float[64], y = new float[64];
+    float[] previousX = new float[64], previousY = new float[64];
+
+    /** Rotation et échelle au tick courant. */
+    float[] rotation = new float[64], scaleX = new float[64], scaleY = new float[64];
+
+    /** Indique si l'entrée est un élément d'interface (dessiné sans la caméra). */
+    boolean[] ui = new boolean[64];
+
+    /** Position de la caméra au tick courant et au tick précédent. */
+    float cameraX, cameraY, previousCameraX, previousCameraY;
+
+    /** Moment de la publication, en nanosecondes. */
+    long publishedAt;
+
+    /** Transformation réutilisée par le thread de rendu pour dessiner chaque entrée. */
+    final Transform drawTransform = new Transform(new Vector2());
+
+    /**
+     * Vide l'instantané avant une nouvelle capture. Les références sont effacées pour ne pas
+     * retenir d'objets supprimés de la scène.
+     */
+    void clear() {
+        Arrays.fill(components, 0, size, null);
+        Arrays.fill(images, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Enregistre la caméra de la scène.
+     *
+     * @param camera La caméra à copier.
+     */
+    void captureCamera(Camera camera) {
+        cameraX = camera.position.x;
+        cameraY = camera.position.y;
+        previousCameraX = camera.previousPosition.x;
+        previousCameraY = camera.previousPosition.y;
+    }
+
+    /**
+     * Ajoute un composant qui sera dessiné par
+     * {@link Component#draw(java.awt.Graphics2D, Transform, double)}, avec une copie de la
+     * transformation et de la valeur données.
+     *
+     * @param component Le composant à dessiner.
+     * @param transform La transformation à copier (en général celle de l'objet du composant).
+     * @param ui true pour dessiner l'entrée sans tenir compte de la caméra.
+     * @param value Valeur propre au composant au tick courant.
+     * @param previousValue La même valeur au tick précédent.
+     */
+    public void addComponent(Component component, Transform transform, boolean ui, double value, double previousValue) {
+        int i = add(transform, ui);
+        components[i] = component;
+        this.value[i] = value;
+        this.previousValue[i] = previousValue;
+    }
+
+    /**
+     * Ajoute une zone d'image, dessinée par le renderer à la position de l'objet donné.
+     *
+     * @param g L'objet dont la transformation est copiée.
+     * @param image L'image source.
+     * @param sourceX Abscisse de la zone dans l'image.
+     * @param sourceY Ordonnée de la zone dans l'image.
+     * @param sourceWidth Largeur de la zone.
+     * @param sourceHeight Hauteur de la zone.
+     * @param width Largeur d'affichage.
+     * @param height Hauteur d'affichage.
+     */
+    public void addImage(GameObject g, BufferedImage image, int sourceX, int sourceY,
+                         int sourceWidth, int sourceHeight, int width, int height) {
+        int i = add(g.transform, g.isUi);
+        images[i] = image;
+        this.sourceX[i] = sourceX;
+        this.sourceY[i] = sourceY;
+        this.sourceWidth[i] = sourceWidth;
+        this.sourceHeight[i] = sourceHeight;
+        this.width[i] = width;
+        this.height[i] = height;
+    }
+
+    /**
+     * Dessine une entrée à une position donnée, uniquement à partir des copies : l'image et sa
+     * zone, ou le composant avec la transformation copiée et la valeur donnée.
+     *
+     * @param g2 Contexte graphique utilisé pour le rendu.
+     * @param i Index de l'entrée.
+     * @param x Abscisse de l'entrée à l'écran (ou dans l'image).
+     * @param y Ordonnée de l'entrée à l'écran (ou dans l'image).
+     * @param value Valeur du composant à utiliser.
+     */
+    void draw(Graphics2D g2, int i, float x, float y, double value) {
+        Component component = components[i];
+        if (component == null) {
+            // Image copiée d'un sprite : zone de l'image ou de la page d'atlas
+            int dx = (int)x;
+            int dy = (int)y;
+            g2.drawImage(images[i], dx, dy, dx + width[i], dy + height[i],
+                    sourceX[i], sourceY[i], sourceX[i] + sourceWidth[i], sourceY[i] + sourceHeight[i], null);
+            return;
+        }
+
+        Transform t = drawTransform;
+        t.position.x = x;
+        t.position.y = y;
+        t.rotation = rotation[i];
+        t.scale.x = scaleX[i];
+        t.scale.y = scaleY[i];
+        component.draw(g2, t, value);
+    }
+
+    /**
+     * Réserve une entrée et y copie une transformation.
+     *
+     * @param t La transformation à copier.
+     * @param isUi true si l'entrée est un élément d'interface.
+     * @return L'index de l'entrée.
+     */
+    private int add(Transform t, boolean isUi) {
+        if (size == components.length) {
+            grow();
+        }
+        int i = size++;
+        x[i] = t.position.x;
+        y[i] = t.position.y;
+        previousX[i] = t.previousPosition.x;
+        previousY[i] = t.previousPosition.y;
+        rotation[i] = t.rotation;
+        scaleX[i] = t.scale.x;
+        scaleY[i] = t.scale.y;
+        ui[i] = isUi;
+        return i;
+    }
+
+    /**
+     * Double la capacité des tableaux.
+     */
+    private void grow() {
+        int capacity = components.length * 2;
+        components = Arrays.copyOf(components, capacity);
+        images = Arrays.copyOf(images, capacity);
+        sourceX = Arrays.copyOf(sourceX, capacity);
+        sourceY = Arrays.copyOf(sourceY, capacity);
+        sourceWidth = Arrays.copyOf(sourceWidth, capacity);
+        sourceHeight = Arrays.copyOf(sourceHeight, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        value = Arrays.copyOf(value, capacity);
+        previousValue = Arrays.copyOf(previousValue, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        rotation = Arrays.copyOf(rotation, capacity);
+        scaleX = Arrays.copyOf(scaleX, capacity);
+        scaleY = Arrays.copyOf(scaleY, capacity);
+        ui = Arrays.copyOf(ui, capacity);
+    }
+}
@@ -3,23 +3,64 @@ package engine;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
+import Component.Sprite;
 import dataStructure.Transform;
+import util.Constants;
 import util.Vector2;
 
 /**
  * Classe responsable du rendu des objets de jeu en fonction de leur position et de leur profondeur (zIndex).
+ *
+ * <p>Les objets sont rangés dans des {@link RenderLayer calques} triés par zIndex : le rendu ne
+ * parcourt que les calques existants, et un objet peut être retiré ou changé de calque en temps
+ * constant. Les objets fixes ({@link GameObject#isStatic}) sont rangés dans une grille spatiale et
+ * pré-rendus par morceaux dans un {@link ChunkCache}, en parallèle : seuls les morceaux visibles
+ * sont copiés à l'écran. Un calque est dessiné dans l'ordre où ses objets ont été ajoutés : les
+ * objets fixes ajoutés entre deux objets mobiles forment une suite, pré-rendue à part.</p>
+ *
+ * <p>En mode multi-thread, les composants des objets visibles copient dans un instantané tout ce
+ * que leur dessin lit (image, zone de l'atlas, transformation, état propre), et le thread de
+ * rendu ne dessine que ces copies : il ne lit jamais les calques ni les objets, modifiés par la
+ * simulation.</p>
  */
 public class Renderer {
 
-    /** Carte contenant les objets de jeu, regroupés par leur zIndex. */
-    private Map<Integer, List<GameObject>> gameObjects;
+    /** Taille des cellules de la grille spatiale des objets fixes, en pixels. */
+    private static final int CELL_SIZE = 256;
+
+    /** Marge autour de la vue dans laquelle les objets fixes sont quand même dessinés. */
+    private static final int CULL_MARGIN = Constants.TILE_WIDTH;
+
+    /** Calques non vides, triés par zIndex croissant. */
+    private TreeMap<Integer, RenderLayer> layers;
+
+    /** Images pré-rendues des objets fixes (rendu mono-thread). */
+    private final ChunkCache chunkCache = new ChunkCache();
+
+    /** Liste réutilisée des objets fixes visibles d'un calque. */
+    private final List<GameObject> visible = new ArrayList<>();
+
+    /** Liste réutilisée par {@link #getStaticObjectAt(float, float)}. */
+    private final List<GameObject> found = new ArrayList<>();
 
     /** Caméra utilisée pour ajuster le rendu en fonction de la position du joueur ou de la scène. */
     private Camera camera;
 
+    /** Facteur d'interpolation entre les deux derniers ticks de simulation (0 à 1). */
+    private float interpolation = 1.0f;
+
+    /** Échange d'instantanés avec le thread de rendu (null en mode mono-thread). */
+    private SnapshotExchange snapshots = null;
+
+    /**
+     * Transformation réutilisée pour dessiner chaque objet à sa position à l'écran, sans allouer
+     * ni modifier la transformation du GameObject.
+     */
+    private final Transform drawTransform = new Transform(new Vector2());
+
     /**
      * Constructeur du renderer.
      *
@@ -27,7 +68,7 @@ public class Renderer {
      */
     public Renderer(Camera camera) {
         this.camera = camera;
-        this.gameObjects = new HashMap<>();
+        this.layers = new TreeMap<>();
     }
 
     /**
@@ -36,9 +77,236 @@ public class Renderer {
      * @param gameObject Objet de jeu à ajouter.
      */
     public void submit(GameObject gameObject) {
-        // Regroupe les objets de jeu par leur zIndex
-        gameObjects.computeIfAbsent(gameObject.zIndex, k -> new ArrayList<>());
-        gameObjects.get(gameObject.zIndex).add(gameObject);
+        RenderLayer layer = layers.computeIfAbsent(gameObject.zIndex, z -> new RenderLayer(z, CELL_SIZE));
+        if (gameObject.isStatic && !gameObject.isUi) {
+            // Les objets fixes sont indexés par position pour ne dessiner que ceux à l'écran
+            Transform t = gameObject.transform;
+            layer.staticObjects.insert(gameObject, t.position.x, t.position.y, width(gameObject), height(gameObject));
+            chunkCache.invalidate(layer, t.position.x, t.position.y, width(gameObject), height(gameObject));
+        } else {
+            layer.dynamicObjects.putIfAbsent(gameObject, layer.staticObjects.nextOrder());
+        }
+    }
+
+    /**
+     * Met à jour l'index spatial après le déplacement d'un objet fixe. Sans effet pour les
+     * objets mobiles, dont la position est lue à chaque rendu. L'ancienne position n'étant plus
+     * connue, toutes les images pré-rendues du calque sont invalidées.
+     *
+     * @param gameObject Objet de jeu déplacé.
+     */
+    public void move(GameObject gameObject) {
+        RenderLayer layer = layers.get(gameObject.zIndex);
+        if (layer != null) {
+            Transform t = gameObject.transform;
+            if (layer.staticObjects.move(gameObject, t.position.x, t.position.y, width(gameObject), height(gameObject))) {
+                chunkCache.invalidate(layer);
+            }
+        }
+    }
+
+    /**
+     * Retire un objet de jeu du renderer. Le calque est supprimé s'il devient vide.
+     *
+     * @param gameObject Objet de jeu à retirer.
+     */
+    public void remove(GameObject gameObject) {
+        RenderLayer layer = layers.get(gameObject.zIndex);
+        if (layer == null) return;
+
+        if (layer.staticObjects.remove(gameObject)) {
+            Transform t = gameObject.transform;
+            chunkCache.invalidate(layer, t.position.x, t.position.y, width(gameObject), height(gameObject));
+        } else {
+            layer.dynamicObjects.remove(gameObject);
+        }
+        if (layer.isEmpty()) {
+            layers.remove(gameObject.zIndex);
+            chunkCache.remove(layer);
+        }
+    }
+
+    /**
+     * Change la profondeur d'un objet déjà ajouté. Le zIndex d'un objet ajouté ne doit être
+     * modifié que par cette méthode, le renderer s'en servant pour retrouver son calque.
+     *
+     * @param gameObject Objet de jeu à déplacer.
+     * @param zIndex Nouvelle profondeur.
+     */
+    public void setZIndex(GameObject gameObject, int zIndex) {
+        if (gameObject.zIndex == zIndex) return;
+        remove(gameObject);
+        gameObject.zIndex = zIndex;
+        submit(gameObject);
+    }
+
+    /**
+     * Largeur occupée par un objet à l'écran, d'après son sprite.
+     *
+     * @param gameObject Objet de jeu.
+     * @return La largeur en pixels.
+     */
+    static float width(GameObject gameObject) {
+        Sprite sprite = gameObject.getComponent(Sprite.class);
+        float width = sprite != null ? sprite.width : Constants.TILE_WIDTH;
+        return width * Math.abs(gameObject.transform.scale.x);
+    }
+
+    /**
+     * Hauteur occupée par un objet à l'écran, d'après son sprite.
+     *
+     * @param gameObject Objet de jeu.
+     * @return La hauteur en pixels.
+     */
+    static float height(GameObject gameObject) {
+        Sprite sprite = gameObject.getComponent(Sprite.class);
+        float height = sprite != null ? sprite.height : Constants.TILE_HEIGHT;
+        return height * Math.abs(gameObject.transform.scale.y);
+    }
+
+    /**
+     * Ajoute à {@link #visible} les objets fixes d'un calque visibles depuis la caméra.
+     *
+     * @param layer Le calque.
+     * @param cameraX Abscisse de la caméra.
+     * @param cameraY Ordonnée de la caméra.
+     */
+    private void queryVisible(RenderLayer layer, float cameraX, float cameraY) {
+        visible.clear();
+        layer.staticObjects.queryOrdered(cameraX - CULL_MARGIN, cameraY - CULL_MARGIN,
+            Constants.WIDTH + 2 * CULL_MARGIN, Constants.HEIGHT + 2 * CULL_MARGIN, visible);
+    }
+
+    /**
+     * Cherche un objet fixe placé exactement à la position donnée, en ne parcourant que les
+     * cellules de l'index qui la contiennent.
+     *
+     * @param x L'abscisse dans le monde.
+     * @param y L'ordonnée dans le monde.
+     * @return L'objet du calque de plus grand zIndex ajouté en dernier à cette position, ou null.
+     */
+    public GameObject getStaticObjectAt(float x, float y) {
+        for (RenderLayer layer : layers.descendingMap().values()) {
+            found.clear();
+            layer.staticObjects.queryOrdered(x, y, 0, 0, found);
+            for (int i = found.size() - 1; i >= 0; i--) {
+                GameObject g = found.get(i);
+                if (g.transform.position.x == x && g.transform.position.y == y) {
+                    found.clear();
+                    return g;
+                }
+            }
+        }
+        found.clear();
+        return null;
+    }
+
+    /**
+     * Indique si des morceaux d'objets fixes sont en cours de dessin en arrière-plan : une
+     * prochaine frame les affichera, même si rien d'autre ne change.
+     *
+     * @return true si des morceaux ne sont pas encore prêts.
+     */
+    public boolean hasPendingChunks() {
+        return chunkCache.hasPending();
+    }
+
+    /**
+     * Définit le facteur d'interpolation utilisé pour positionner les objets entre deux ticks.
+     *
+     * @param interpolation Fraction du tick suivant déjà écoulée (0 à 1).
+     */
+    public void setInterpolation(float interpolation) {
+        this.interpolation = interpolation;
+    }
+
+    /**
+     * Retourne le facteur d'interpolation de la frame en cours de dessin (rendu mono-thread) :
+     * les éléments dessinés hors du renderer l'utilisent pour placer la caméra au même endroit
+     * que les objets de la scène.
+     *
+     * @return Fraction du tick suivant déjà écoulée (0 à 1).
+     */
+    public float getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * Active le rendu à partir d'instantanés : la simulation appelle {@link #publish()} après
+     * ses ticks et {@link #render(Graphics)} dessine le dernier instantané publié.
+     */
+    public void enableSnapshots() {
+        this.snapshots = new SnapshotExchange();
+    }
+
+    /**
+     * Capture l'état dessinable de la scène et le publie pour le thread de rendu.
+     * Doit être appelé par le thread de simulation, entre deux ticks.
+     */
+    public void publish() {
+        RenderSnapshot snapshot = snapshots.back();
+        snapshot.clear();
+        snapshot.captureCamera(camera);
+
+        for (RenderLayer layer : layers.values()) {
+            // La marge couvre le déplacement de la caméra pendant l'interpolation
+            queryVisible(layer, camera.position.x, camera.position.y);
+            int next = 0;
+            for (Map.Entry<GameObject, Long> entry : layer.dynamicObjects.entrySet()) {
+                next = captureStatic(snapshot, layer, next, entry.getValue());
+                entry.getKey().capture(snapshot);
+            }
+            captureStatic(snapshot, layer, next, Long.MAX_VALUE);
+            visible.clear();
+        }
+
+        snapshot.publishedAt = Window.getWindow().getClock().nanoTime();
+        snapshots.publish();
+    }
+
+    /**
+     * Capture les objets fixes visibles, à partir de l'index donné, tant que leur numéro d'ordre
+     * est inférieur à la borne : ceux ajoutés avant le prochain objet mobile.
+     *
+     * @param snapshot L'instantané à remplir.
+     * @param layer Le calque des objets de {@link #visible}.
+     * @param next Index du premier objet visible pas encore capturé.
+     * @param toOrder Numéro d'ordre de fin (exclu).
+     * @return L'index du premier objet visible pas encore capturé.
+     */
+    private int captureStatic(RenderSnapshot snapshot, RenderLayer layer, int next, long toOrder) {
+        while (next < visible.size()
+                && (toOrder == Long.MAX_VALUE || layer.staticObjects.orderOf(visible.get(next)) < toOrder)) {
+            visible.get(next++).capture(snapshot);
+        }
+        return next;
+    }
+
+    /**
+     * Rendu d'un instantané publié par la simulation. Les positions et les valeurs des composants
+     * sont interpolées selon le temps écoulé depuis la publication, et chaque entrée est dessinée
+     * uniquement à partir de ce qui a été copié : le thread de rendu ne lit ni ne modifie les
+     * objets de la simulation.
+     *
+     * @param g2 Contexte graphique utilisé pour le rendu.
+     * @param snapshot L'instantané à dessiner.
+     */
+    private void render(Graphics2D g2, RenderSnapshot snapshot) {
+        long sincePublish = Window.getWindow().getClock().nanoTime() - snapshot.publishedAt;
+        float alpha = Math.min(1.0f, (float)sincePublish / Constants.TICK_NANOS);
+        float cameraX = snapshot.previousCameraX + (snapshot.cameraX - snapshot.previousCameraX) * alpha;
+        float cameraY = snapshot.previousCameraY + (snapshot.cameraY - snapshot.previousCameraY) * alpha;
+
+        for (int i = 0; i < snapshot.size; i++) {
+            float x = snapshot.previousX[i] + (snapshot.x[i] - snapshot.previousX[i]) * alpha;
+            float y = snapshot.previousY[i] + (snapshot.y[i] - snapshot.previousY[i]) * alpha;
+            if (!snapshot.ui[i]) {
+                x -= cameraX;
+                y -= cameraY;
+            }
+            double value = snapshot.previousValue[i] + (snapshot.value[i] - snapshot.previousValue[i]) * alpha;
+            snapshot.draw(g2, i, x, y, value);
+        }
     }
 
     /**
@@ -47,47 +315,59 @@ public class Renderer {
      * @param g2 Contexte graphique utilisé pour le rendu.
      */
     public void render(Graphics g2) {
-        // Trouve les zIndex extrêmes (le plus bas et le plus haut)
-        int lowestZIndex = Integer.MAX_VALUE;
-        int highestZIndex = Integer.MIN_VALUE;
-        for (Integer i : gameObjects.keySet()) {
-            if (i < lowestZIndex) lowestZIndex = i;
-            if (i > highestZIndex) highestZIndex = i;
+        if (snapshots != null) {
+            RenderSnapshot snapshot = snapshots.acquire();
+            if (snapshot != null) {
+                render((Graphics2D) g2, snapshot);
+            }
+            return;
         }
 
+        // Position de la caméra interpolée entre les deux derniers ticks
+        float cameraX = camera.interpolatedX(interpolation);
+        float cameraY = camera.interpolatedY(interpolation);
+
         // Rendu des objets par ordre de profondeur
-        int currentZIndex = lowestZIndex;
-        while (currentZIndex <= highestZIndex) {
-            if (gameObjects.get(currentZIndex) == null) {
-                currentZIndex++;
-                continue;
-            }
+        Graphics2D g2d = (Graphics2D) g2;
+        for (RenderLayer layer : layers.values()) {
+            // Objets fixes ajoutés avant chaque objet mobile : morceaux pré-rendus visibles seulement
+            long fromOrder = 0;
+            for (Map.Entry<GameObject, Long> entry : layer.dynamicObjects.entrySet()) {
+                long toOrder = entry.getValue();
+                if (toOrder > fromOrder) {
+                    chunkCache.draw(g2d, layer, fromOrder, toOrder, cameraX, cameraY);
+                    fromOrder = toOrder;
+                }
 
-            Graphics2D g2d = (Graphics2D) g2;
-            for (GameObject g : gameObjects.get(currentZIndex)) {
+                GameObject g = entry.getKey();
                 if (g.isUi) {
                     // Rendu des éléments d'interface utilisateur (UI) sans tenir compte de la caméra
                     g.draw(g2d);
                 } else {
-                    // Sauvegarde de la transformation originale
-                    Transform oldTransform = new Transform(g.transform.position);
-                    oldTransform.rotation = g.transform.rotation;
-                    oldTransform.scale = new Vector2(g.transform.scale.x, g.transform.scale.y);
-
-                    // Applique le décalage de la caméra pour le rendu
-                    g.transform.position = new Vector2(
-                        g.transform.position.x - camera.position.x,
-                        g.transform.position.y - camera.position.y
-                    );
-
-                    // Rendu de l'objet
-                    g.draw(g2d);
-
-                    // Restauration de la transformation originale
-                    g.transform = oldTransform;
+                    drawInWorld(g2d, g, cameraX, cameraY);
                 }
             }
-            currentZIndex++;
+            chunkCache.draw(g2d, layer, fromOrder, Long.MAX_VALUE, cameraX, cameraY);
         }
     }
+
+    /**
+     * Dessine un objet du monde à sa position à l'écran : position interpolée moins le
+     * décalage de la caméra, passée par {@link #drawTransform}.
+     *
+     * @param g2d Contexte graphique utilisé pour le rendu.
+     * @param g Objet de jeu à dessiner.
+     * @param cameraX Abscisse interpolée de la caméra.
+     * @param cameraY Ordonnée interpolée de la caméra.
+     */
+    private void drawInWorld(Graphics2D g2d, GameObject g, float cameraX, float cameraY) {
+        Transform t = drawTransform;
+        Transform source = g.transform;
+        t.position.x = source.interpolatedX(interpolation) - cameraX;
+        t.position.y = source.interpolatedY(interpolation) - cameraY;
+        t.rotation = source.rotation;
+        t.scale.x = source.scale.x;
+        t.scale.y = source.scale.y;
+        g.draw(g2d, t);
+    }
 }
@@ -8,6 +8,9 @@ import engine.GameObject;
 import engine.Renderer;
 import engine.Scene;
 
+import Component.Sprite;
+import dataStructure.ArraySet;
+import dataStructure.TextureAtlas;
 import util.Vector2;
 import java.util.ArrayList;
 import engine.GameObject;
@@ -31,15 +34,21 @@ public abstract class Scene {
     public Camera camera;
 
     /**
-     * La liste des objets de jeu présents dans la scène.
+     * Les objets de jeu présents dans la scène, dans l'ordre d'ajout. Un objet est retiré en
+     * temps constant.
      */
-    List<GameObject> gameObjects;
+    ArraySet<GameObject> gameObjects;
 
     /**
      * Le renderer utilisé pour dessiner la scène.
      */
     Renderer renderer;
 
+    /**
+     * L'atlas de textures de la scène, complété à chaque import et à chaque objet fixe ajouté.
+     */
+    TextureAtlas atlas;
+
     /**
      * Constructeur de la classe Scene.
      * 
@@ -48,8 +57,9 @@ public abstract class Scene {
     public void Scene(String name){
         this.name = name;
         this.camera = new Camera(new Vector2());
-        this.gameObjects = new ArrayList<>();
+        this.gameObjects = new ArraySet<>();
         this.renderer = new Renderer(this.camera);
+        this.atlas = new TextureAtlas();
     }
 
     /**
@@ -59,18 +69,87 @@ public abstract class Scene {
     }
     
     /**
-     * Ajoute un objet de jeu à la scène.
+     * Ajoute un objet de jeu à la scène. L'image d'un objet fixe (hors interface) est ajoutée
+     * à l'atlas de la scène si elle n'y est pas encore.
      * 
      * @param g L'objet de jeu à ajouter.
      */
     public void addGameObject(GameObject g){
+        if (g.isStatic && !g.isUi){
+            Sprite sprite = g.getComponent(Sprite.class);
+            if (sprite != null && sprite.region == null){
+                atlas.add(sprite);
+            }
+        }
         gameObjects.add(g);
+        g.transform.storePreviousPosition();
         renderer.submit(g);
         for (Component c : g.getAllComponents()){
             c.start();
         }
     }
 
+    /**
+     * Retire un objet de jeu de la scène.
+     * 
+     * @param g L'objet de jeu à retirer.
+     */
+    public void removeGameObject(GameObject g){
+        gameObjects.remove(g);
+        renderer.remove(g);
+    }
+
+    /**
+     * Ajoute les images des sprites des objets donnés à l'atlas de textures de la scène : ces
+     * objets sont ensuite dessinés depuis les pages de l'atlas (voir {@link TextureAtlas}).
+     * Appelée avant d'ajouter un lot d'objets, elle range leurs images ensemble (les plus hautes
+     * d'abord) ; les objets fixes ajoutés seuls sont empaquetés par {@link #addGameObject}.
+     * 
+     * @param objects Les objets dont les sprites sont empaquetés.
+     */
+    public void packSprites(List<GameObject> objects){
+        List<Sprite> sprites = new ArrayList<>();
+        for (GameObject g : objects){
+            Sprite sprite = g.getComponent(Sprite.class);
+            if (sprite != null){
+                sprites.add(sprite);
+            }
+        }
+        atlas.add(sprites);
+    }
+
+    /**
+     * Retourne le renderer de la scène.
+     * 
+     * @return Le renderer.
+     */
+    public Renderer getRenderer(){
+        return renderer;
+    }
+
+    /**
+     * Cherche un objet fixe placé exactement à la position donnée (un bloc posé sur la grille),
+     * dans l'index spatial du renderer.
+     * 
+     * @param x L'abscisse dans le monde.
+     * @param y L'ordonnée dans le monde.
+     * @return L'objet fixe du calque le plus proche ajouté en dernier à cette position, ou null
+     *         s'il n'y en a pas.
+     */
+    public GameObject getStaticObjectAt(float x, float y){
+        return renderer.getStaticObjectAt(x, y);
+    }
+
+    /**
+     * Indique si l'image de la scène a changé depuis la dernière frame présentée. Une scène qui
+     * retourne false peut ne pas être redessinée ni présentée.
+     * 
+     * @return true si la scène doit être redessinée (toujours, par défaut).
+     */
+    public boolean needsRepaint(){
+        return true;
+    }
+
     /**
      * Met à jour la scène.
      * 
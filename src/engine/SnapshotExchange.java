@@ -0,0 +1,68 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple buffer sans verrou échangeant des {@link RenderSnapshot} entre le thread de
+ * simulation (producteur) et le thread de rendu (consommateur).
+ *
+ * <p>Le producteur possède le buffer arrière, le consommateur le buffer avant, et le buffer du
+ * milieu est échangé atomiquement. Aucun des deux threads n'attend jamais l'autre : le rendu
+ * lit toujours le dernier instantané complet, et la simulation peut publier plusieurs fois
+ * entre deux frames.</p>
+ */
+public class SnapshotExchange {
+
+    /** Bit indiquant que le buffer du milieu contient un instantané pas encore lu. */
+    private static final int FRESH = 4;
+
+    /** Masque donnant l'index du buffer du milieu. */
+    private static final int INDEX_MASK = 3;
+
+    /** Les trois buffers. */
+    private final RenderSnapshot[] buffers = {
+        new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()
+    };
+
+    /** Index du buffer du milieu et bit {@link #FRESH}. */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /** Index du buffer arrière, accédé uniquement par le producteur. */
+    private int back = 0;
+
+    /** Index du buffer avant, accédé uniquement par le consommateur. */
+    private int front = 2;
+
+    /** Indique si le consommateur a déjà reçu un instantané. */
+    private boolean hasFront = false;
+
+    /**
+     * Retourne le buffer dans lequel le producteur doit écrire le prochain instantané.
+     *
+     * @return Le buffer arrière.
+     */
+    public RenderSnapshot back() {
+        return buffers[back];
+    }
+
+    /**
+     * Publie le buffer arrière et récupère l'ancien buffer du milieu pour la prochaine écriture.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Récupère le dernier instantané publié. Si rien de nouveau n'a été publié depuis le dernier
+     * appel, le même instantané est retourné.
+     *
+     * @return Le dernier instantané, ou null si rien n'a encore été publié.
+     */
+    public RenderSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+            hasFront = true;
+        }
+        return hasFront ? buffers[front] : null;
+    }
+}
@@ -1,57 +1,216 @@
 package engine;
 
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Graphics;
-import java.awt.Image;
+import java.awt.GraphicsEnvironment;
+import java.awt.ImageCapabilities;
+import java.awt.Toolkit;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import javax.swing.JFrame;
 
+import util.Clock;
 import util.Constants;
-import util.Time;
+import util.SystemClock;
 
 /**
  * La classe principale de la fenêtre du jeu, responsable de l'affichage, de la gestion des scènes
  * et de la boucle principale du jeu.
+ *
+ * <p>En mode headless (pas d'écran, ou {@link #initHeadless()}), aucune fenêtre n'est créée :
+ * la scène active, les entrées et le profileur restent disponibles pour {@link HeadlessRunner}.</p>
  */
-public class Window extends JFrame implements Runnable {
+public class Window implements Runnable {
     /** Instance unique de la classe Window (Singleton). */
     private static Window window = null;
 
     /** Indique si la boucle du jeu est en cours d'exécution. */
-    private boolean isRunning = true;
+    private volatile boolean isRunning = true;
 
     /** La scène actuellement active (éditeur ou niveau de jeu). */
-    private Scene currentScene = null;
+    private volatile Scene currentScene = null;
 
-    /** Image utilisée pour le double buffering (pour éviter le scintillement). */
-    private Image doubleBufferImage = null;
+    /** La scène dessinée par le rendu : la scène active, une fois son initialisation terminée. */
+    private volatile Scene renderScene = null;
 
-    /** Graphics pour le double buffering. */
-    private Graphics doubleBufferGraphics = null;
+    /**
+     * Si true, la simulation et le rendu tournent sur deux threads séparés qui communiquent
+     * par des instantanés publiés par le {@link Renderer}. Réservé au niveau : l'éditeur
+     * dessine depuis l'état de la simulation.
+     */
+    public boolean multithreaded = false;
+
+    /** Horloge monotone pilotant la simulation (remplaçable pour les exécutions déterministes). */
+    private Clock clock = new SystemClock();
+
+    /** Cadence le thread de simulation sur {@link Constants#TICK_RATE} en mode multithread. */
+    private FramePacer tickPacer = new FramePacer(Constants.TICK_RATE);
+
+    /** La fenêtre Swing (null en mode headless). */
+    private JFrame frame = null;
+
+    /** Surface de rendu actif : le jeu dessine lui-même, sans passer par le repaint de Swing. */
+    private Canvas canvas = null;
+
+    /** Chaîne de présentation (triple buffering, page flipping si disponible). */
+    private BufferStrategy bufferStrategy = null;
+
+    /** Buffer en mémoire vidéo utilisé si aucune BufferStrategy n'a pu être créée. */
+    private VolatileImage volatileBuffer = null;
+
+    /** Cadence le rendu sur {@link Constants#FPS} au lieu de tourner en boucle. */
+    public FramePacer framePacer;
+
+    /** Mesure la durée de chaque phase de la frame (F3 pour afficher la surimpression). */
+    public FrameProfiler profiler = new FrameProfiler();
+
+    /** État de la touche F3 au tick précédent, pour ne basculer qu'à l'appui. */
+    private boolean overlayKeyDown = false;
+
+    /** Profil de qualité appliqué au rendu (F4 pour passer au suivant). */
+    private volatile RenderQuality renderQuality = RenderQuality.BALANCED;
+
+    /** Profil des mesures de rendu en cours, pour les remettre à zéro au changement de profil. */
+    private RenderQuality measuredQuality = null;
+
+    /** État de la touche F4 au tick précédent, pour ne basculer qu'à l'appui. */
+    private boolean qualityKeyDown = false;
+
+    /** Dossier dans lequel chaque capture crée son sous-dossier d'images. */
+    public String captureDirectory = "captures";
+
+    /** Comportement de la capture quand l'encodage prend du retard. */
+    public FrameCapture.Policy capturePolicy = FrameCapture.Policy.DROP;
+
+    /** Indique si la capture des frames est demandée (F5 pour basculer). */
+    private volatile boolean captureRequested = false;
+
+    /** Capture en cours, démarrée et arrêtée par le thread de rendu (null si inactive). */
+    private FrameCapture capture = null;
+
+    /** État de la touche F5 au tick précédent, pour ne basculer qu'à l'appui. */
+    private boolean captureKeyDown = false;
+
+    /**
+     * Force la prochaine frame à être dessinée et présentée, même si la scène n'a pas changé
+     * (fenêtre restaurée, surimpression masquée...).
+     */
+    private volatile boolean repaintRequested = true;
 
-    /** Gestionnaire des événements de souris. */
+    /** Nombre de ticks exécutés depuis le lancement. */
+    private long tick = 0;
+
+    /** Enregistre les entrées de chaque tick (null si inactif). */
+    private InputRecorder inputRecorder = null;
+
+    /** Fournit les entrées à la place des événements réels : rejeu, script (null si inactif). */
+    private volatile HeadlessRunner.InputScript inputSource = null;
+
+    /** Gestionnaire des événements de souris (modifié par le thread AWT). */
     public ML mouseListener;
 
-    /** Gestionnaire des événements clavier. */
+    /** Gestionnaire des événements clavier (modifié par le thread AWT). */
     public KL keyListener;
 
+    /** Entrées du tick en cours : les seules que le jeu doit lire. */
+    public final InputState input = new InputState();
+
     /** Indique si l'utilisateur est dans l'éditeur de niveau. */
     public boolean isInEditor = true;
 
-    /** Constructeur de la classe Window. Initialise la fenêtre et les gestionnaires d'événements. */
-    public Window() {
+    /**
+     * Constructeur de la classe Window. Initialise la fenêtre et les gestionnaires d'événements.
+     *
+     * @param headless Si true, aucune fenêtre n'est créée.
+     */
+    private Window(boolean headless) {
         this.mouseListener = new ML();
         this.keyListener = new KL();
+        this.framePacer = new FramePacer(Constants.FPS);
+
+        if (headless) {
+            return;
+        }
+
+        this.canvas = new Canvas();
+        this.canvas.setPreferredSize(new Dimension(Constants.WIDTH, Constants.HEIGHT));
+        this.canvas.setIgnoreRepaint(true);
+        this.canvas.addKeyListener(keyListener);
+        this.canvas.addMouseListener(mouseListener);
+        this.canvas.addMouseMotionListener(mouseListener);
+
+        this.frame = new JFrame(Constants.TITLE);
+        this.frame.setIgnoreRepaint(true);
+        this.frame.add(canvas);
+        this.frame.pack();
+        this.frame.setResizable(false);
+        this.frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        this.frame.setLocationRelativeTo(null);
+        this.frame.setVisible(true);
+        this.canvas.requestFocus();
 
-        this.setSize(Constants.WIDTH, Constants.HEIGHT);
-        this.setTitle(Constants.TITLE);
-        this.setResizable(false);
-        this.setVisible(true);
-        this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        this.addKeyListener(keyListener);
-        this.addMouseListener(mouseListener);
-        this.addMouseMotionListener(mouseListener);
-        this.setLocationRelativeTo(null);
+        // Le contenu affiché peut être perdu sans que la scène ne change
+        this.frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                repaintRequested = true;
+            }
+
+            @Override
+            public void windowActivated(WindowEvent e) {
+                repaintRequested = true;
+            }
+        });
+        this.canvas.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                repaintRequested = true;
+            }
+
+            @Override
+            public void componentShown(ComponentEvent e) {
+                repaintRequested = true;
+            }
+        });
+
+        initPresentation();
+    }
+
+    /**
+     * Crée la chaîne de présentation du canvas : triple buffering avec page flipping si la
+     * plateforme le permet, sinon la stratégie choisie par AWT. En dernier recours, le rendu
+     * passe par une {@link VolatileImage} copiée sur le canvas.
+     */
+    private void initPresentation() {
+        BufferCapabilities flipping = new BufferCapabilities(
+                new ImageCapabilities(true), new ImageCapabilities(true),
+                BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            canvas.createBufferStrategy(3, flipping);
+        } catch (AWTException e) {
+            try {
+                canvas.createBufferStrategy(3);
+            } catch (IllegalStateException ex) {
+                System.out.println("BufferStrategy unavailable, falling back to VolatileImage");
+                return;
+            }
+        }
+        bufferStrategy = canvas.getBufferStrategy();
     }
 
     /**
@@ -78,22 +237,35 @@ public class Window extends JFrame implements Runnable {
     public void changeScene(int scene) {
         switch (scene) {
             case 0:
-                isInEditor = true;
-                currentScene = new LevelEditorScene("Level Editor");
-                currentScene.init();
+                changeScene(new LevelEditorScene("Level Editor"));
                 break;
             case 1:
-                isInEditor = false;
-                currentScene = new LevelScene("Level");
-                currentScene.init();
+                changeScene(new LevelScene("Level"));
                 break;
             default:
                 System.out.println("Invalid scene");
                 currentScene = null;
+                renderScene = null;
                 break;
         }
     }
 
+    /**
+     * Installe et initialise une scène déjà construite.
+     *
+     * @param scene La scène à activer.
+     */
+    public void changeScene(Scene scene) {
+        isInEditor = scene instanceof LevelEditorScene;
+        currentScene = scene;
+        currentScene.init();
+
+        if (multithreaded) {
+            currentScene.renderer.enableSnapshots();
+        }
+        renderScene = currentScene;
+    }
+
     /**
      * Retourne l'instance unique de la fenêtre (Singleton).
      *
@@ -101,60 +273,397 @@ public class Window extends JFrame implements Runnable {
      */
     public static Window getWindow() {
         if (Window.window == null) {
-            Window.window = new Window();
+            Window.window = new Window(GraphicsEnvironment.isHeadless());
+        }
+        return Window.window;
+    }
+
+    /**
+     * Crée l'instance unique sans fenêtre, même si un écran est disponible.
+     * Doit être appelée avant le premier {@link #getWindow()}.
+     *
+     * @return L'instance unique de la fenêtre, en mode headless.
+     */
+    public static Window initHeadless() {
+        if (Window.window != null) {
+            throw new IllegalStateException("Window already created");
         }
+        Window.window = new Window(true);
         return Window.window;
     }
 
     /**
-     * Met à jour l'état de la fenêtre et de la scène active.
+     * Retourne l'horloge utilisée par la boucle de jeu.
+     *
+     * @return L'horloge courante.
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Remplace l'horloge utilisée par la boucle de jeu, avant son lancement.
+     *
+     * @param clock La nouvelle horloge.
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Enregistre les entrées de chaque tick dans un fichier, fermé à l'arrêt du programme.
+     *
+     * @param path Chemin du fichier d'enregistrement.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public void startRecording(String path) throws IOException {
+        InputRecorder recorder = new InputRecorder(path);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, "InputRecorder"));
+        this.inputRecorder = recorder;
+    }
+
+    /**
+     * Rejoue un enregistrement d'entrées ; les événements réels du clavier et de la souris
+     * sont ignorés pendant le rejeu.
+     *
+     * @param path Chemin du fichier d'enregistrement.
+     * @return Le rejeu chargé.
+     * @throws IOException Si le fichier est illisible.
+     */
+    public InputReplay startReplay(String path) throws IOException {
+        InputReplay replay = new InputReplay(path);
+        setInputSource(replay);
+        return replay;
+    }
+
+    /**
+     * Remplace le clavier et la souris par une source d'entrées, appliquée au début de chaque tick.
+     *
+     * @param source La source d'entrées, ou null pour revenir aux événements réels.
+     */
+    public void setInputSource(HeadlessRunner.InputScript source) {
+        this.inputSource = source;
+    }
+
+    /**
+     * @return Le nombre de ticks exécutés depuis le lancement.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Indique si la fenêtre a été créée sans affichage.
      *
-     * @param deltaTime Le temps écoulé depuis la dernière mise à jour.
+     * @return true en mode headless.
+     */
+    public boolean isHeadless() {
+        return frame == null;
+    }
+
+    /**
+     * Exécute un tick de simulation à pas fixe sur la scène active.
+     *
+     * @param deltaTime La durée du tick, en secondes.
      */
     public void update(double deltaTime) {
-        draw(getGraphics());
+        // Les entrées sont figées pour tout le tick : le thread AWT ne peut plus les changer
+        HeadlessRunner.InputScript source = inputSource;
+        if (source != null) {
+            source.apply(tick, input);
+        } else {
+            input.copyFrom(keyListener, mouseListener);
+        }
+        if (inputRecorder != null) {
+            try {
+                inputRecorder.capture(tick, input);
+            } catch (IOException e) {
+                e.printStackTrace();
+                inputRecorder = null;
+            }
+        }
+        tick++;
+
+        boolean overlayKey = input.isKeyPressed(KeyEvent.VK_F3);
+        if (overlayKey && !overlayKeyDown) {
+            profiler.showOverlay = !profiler.showOverlay;
+            repaintRequested = true;
+        }
+        overlayKeyDown = overlayKey;
+
+        boolean qualityKey = input.isKeyPressed(KeyEvent.VK_F4);
+        if (qualityKey && !qualityKeyDown) {
+            renderQuality = renderQuality.next();
+            repaintRequested = true;
+        }
+        qualityKeyDown = qualityKey;
+
+        boolean captureKey = input.isKeyPressed(KeyEvent.VK_F5);
+        if (captureKey && !captureKeyDown) {
+            captureRequested = !captureRequested;
+        }
+        captureKeyDown = captureKey;
+
+        long start = profiler.begin();
+        currentScene.camera.storePreviousPosition();
         currentScene.update(deltaTime);
+        profiler.end(FrameProfiler.Phase.TICK, start);
+    }
+
+    /**
+     * Dessine la scène active et la présente à l'écran. Le rendu est recommencé tant que
+     * le contenu des buffers est perdu ou restauré (changement de mode, mise en veille...).
+     * Rien n'est dessiné si la scène n'a pas changé depuis la dernière frame présentée.
+     */
+    public void draw() {
+        if (renderScene == null || canvas == null) {
+            return;
+        }
+        updateCapture();
+        // Pendant une capture, chaque frame est enregistrée pour garder une cadence constante
+        if (!repaintRequested && !profiler.showOverlay && capture == null && !renderScene.needsRepaint()) {
+            return;
+        }
+        repaintRequested = false;
+        BufferedImage captured = captureFrame();
+        if (bufferStrategy == null) {
+            drawVolatile(captured);
+        } else {
+            drawStrategy(captured);
+        }
+        if (captured != null) {
+            capture.submit(captured);
+        }
     }
 
     /**
-     * Dessine le contenu de la scène active à l'écran en utilisant le double buffering.
+     * Présente la frame par la {@link BufferStrategy}.
      *
-     * @param g L'objet Graphics utilisé pour le dessin.
+     * @param captured La frame déjà dessinée pour la capture, ou null pour la dessiner ici.
+     */
+    private void drawStrategy(BufferedImage captured) {
+        do {
+            do {
+                Graphics g = bufferStrategy.getDrawGraphics();
+                renderFrame(g, captured);
+                g.dispose();
+            } while (bufferStrategy.contentsRestored());
+            long start = profiler.begin();
+            bufferStrategy.show();
+            profiler.end(FrameProfiler.Phase.PRESENT, start);
+        } while (bufferStrategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        profiler.endFrame();
+    }
+
+    /**
+     * Chemin de présentation de secours : rendu dans une {@link VolatileImage}, recréée si elle
+     * devient incompatible avec l'affichage, puis copie sur le canvas.
+     *
+     * @param captured La frame déjà dessinée pour la capture, ou null pour la dessiner ici.
      */
-    public void draw(Graphics g) {
-        if (doubleBufferImage == null) {
-            doubleBufferImage = createImage(getWidth(), getHeight());
-            doubleBufferGraphics = doubleBufferImage.getGraphics();
+    private void drawVolatile(BufferedImage captured) {
+        do {
+            if (volatileBuffer == null ||
+                volatileBuffer.validate(canvas.getGraphicsConfiguration()) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                volatileBuffer = canvas.createVolatileImage(Constants.WIDTH, Constants.HEIGHT);
+            }
+
+            Graphics2D g2 = volatileBuffer.createGraphics();
+            renderFrame(g2, captured);
+            g2.dispose();
+
+            long start = profiler.begin();
+            Graphics g = canvas.getGraphics();
+            g.drawImage(volatileBuffer, 0, 0, null);
+            g.dispose();
+            profiler.end(FrameProfiler.Phase.PRESENT, start);
+        } while (volatileBuffer.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        profiler.endFrame();
+    }
+
+    /**
+     * Dessine la frame dans le buffer de présentation, ou y copie la frame capturée.
+     *
+     * @param g L'objet Graphics du buffer de présentation.
+     * @param captured La frame déjà dessinée pour la capture, ou null.
+     */
+    private void renderFrame(Graphics g, BufferedImage captured) {
+        if (captured != null) {
+            g.drawImage(captured, 0, 0, null);
+        } else {
+            renderOffScreen(g);
         }
+    }
 
-        renderOffScreen(doubleBufferGraphics);
-        g.drawImage(doubleBufferImage, 0, 0, getWidth(), getHeight(), null);
+    /**
+     * Dessine la frame dans une image de la capture en cours, si une image est libre.
+     *
+     * @return L'image dessinée, à soumettre après la présentation, ou null.
+     */
+    private BufferedImage captureFrame() {
+        if (capture == null) return null;
+
+        BufferedImage image = capture.acquire();
+        if (image != null) {
+            Graphics2D g2 = image.createGraphics();
+            renderOffScreen(g2);
+            g2.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Démarre ou arrête la capture selon la demande (F5 ou {@link #startCapture()}). Appelé par
+     * le thread de rendu, seul à utiliser la capture.
+     */
+    private void updateCapture() {
+        if (captureRequested && capture == null) {
+            String session = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            try {
+                capture = new FrameCapture(new File(captureDirectory, session), capturePolicy);
+                System.out.println("Capturing frames to " + capture.directory);
+            } catch (IOException e) {
+                e.printStackTrace();
+                captureRequested = false;
+            }
+        } else if (!captureRequested && capture != null) {
+            capture.stop();
+            System.out.println(capture.report());
+            capture = null;
+        }
+    }
+
+    /**
+     * Demande la capture des frames affichées dès la prochaine frame.
+     */
+    public void startCapture() {
+        captureRequested = true;
     }
 
     /**
-     * Effectue le rendu de la scène active dans un buffer hors écran.
+     * Effectue le rendu de la scène active dans un buffer hors écran (par exemple une
+     * BufferedImage en mode headless).
      *
      * @param g L'objet Graphics utilisé pour le dessin.
      */
     public void renderOffScreen(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
-        currentScene.draw(g2);
+        RenderQuality quality = renderQuality;
+        if (quality != measuredQuality) {
+            // Les mesures précédentes ne valent que pour l'ancien profil
+            profiler.reset(FrameProfiler.Phase.RENDER);
+            profiler.reset(FrameProfiler.Phase.FRAME);
+            measuredQuality = quality;
+        }
+        quality.apply(g2);
+
+        long start = profiler.begin();
+        renderScene.draw(g2);
+        profiler.end(FrameProfiler.Phase.RENDER, start);
+
+        if (profiler.showOverlay) {
+            String qualityLine = "rendu : " + quality + " (F4)";
+            if (capture != null) {
+                profiler.drawOverlay(g2, framePacer.report(), qualityLine, capture.report());
+            } else {
+                profiler.drawOverlay(g2, framePacer.report(), qualityLine);
+            }
+        }
     }
 
     /**
-     * La méthode principale de la boucle du jeu. Exécute des mises à jour en continu
-     * jusqu'à ce que le jeu soit arrêté.
+     * @return Le profil de qualité appliqué au rendu.
+     */
+    public RenderQuality getRenderQuality() {
+        return renderQuality;
+    }
+
+    /**
+     * Change le profil de qualité du rendu. Les mesures de la phase de rendu repartent de zéro.
+     *
+     * @param quality Le nouveau profil.
+     */
+    public void setRenderQuality(RenderQuality quality) {
+        this.renderQuality = quality;
+        this.repaintRequested = true;
+    }
+
+    /**
+     * La méthode principale de la boucle du jeu. La simulation avance par ticks fixes de
+     * {@link Constants#FIXED_DELTA_TIME} secondes, consommés depuis un accumulateur en nanosecondes
+     * alimenté par l'{@link Clock} de la fenêtre.
+     *
+     * <p>En mode mono-thread, le rendu interpole ensuite les positions entre les deux derniers
+     * ticks, puis le {@link FramePacer} attend la frame suivante. En mode multithread, ce thread
+     * ne fait que simuler et publier des instantanés, et un thread de rendu dédié est lancé.</p>
      */
     @Override
     public void run() {
-        double lastFrameTime = 0.0;
+        if (multithreaded) {
+            Thread renderThread = new Thread(this::renderLoop, "Render");
+            renderThread.setDaemon(true);
+            renderThread.start();
+        }
+
+        long lastFrameTime = clock.nanoTime();
+        long accumulator = 0;
         try {
             while (isRunning) {
-                double time = Time.getTime();
-                double deltaTime = time - lastFrameTime;
+                long time = clock.nanoTime();
+                long frameTime = Math.min(time - lastFrameTime, Constants.MAX_FRAME_NANOS);
                 lastFrameTime = time;
+                accumulator += frameTime;
+
+                boolean ticked = false;
+                while (accumulator >= Constants.TICK_NANOS) {
+                    update(Constants.FIXED_DELTA_TIME);
+                    accumulator -= Constants.TICK_NANOS;
+                    ticked = true;
+                }
+
+                if (multithreaded) {
+                    // Publie l'état du dernier tick puis attend le tick suivant
+                    if (ticked) {
+                        currentScene.renderer.publish();
+                    }
+                    tickPacer.sync();
+                    continue;
+                }
+
+                currentScene.renderer.setInterpolation((float)accumulator / Constants.TICK_NANOS);
+                draw();
 
-                update(deltaTime);
+                // Laisse le processeur (et le thread AWT) respirer jusqu'à la prochaine frame
+                framePacer.sync();
+                if (framePacer.pollReport() && frame != null) {
+                    frame.setTitle(Constants.TITLE + " - " + framePacer.report());
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Boucle du thread de rendu en mode multithread : dessine le dernier instantané publié par
+     * la simulation, à la fréquence du {@link FramePacer}, indépendamment des ticks.
+     */
+    private void renderLoop() {
+        try {
+            while (isRunning) {
+                draw();
+                framePacer.sync();
+                if (framePacer.pollReport() && frame != null) {
+                    frame.setTitle(Constants.TITLE + " - " + framePacer.report());
+                }
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,220 @@
+package file;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import Component.BoxBounds;
+import Component.Spritesheet;
+import dataStructure.AssetPool;
+import dataStructure.Transform;
+import engine.GameObject;
+import util.Constants;
+import util.Vector2;
+
+/**
+ * Génère des niveaux synthétiques au même format ZIP/JSON que l'export de l'éditeur, pour
+ * mesurer le comportement du moteur sur des niveaux bien plus grands que ceux faits à la main.
+ *
+ * <p>Les blocs sont posés sur une grille de {@code longueur x hauteur} tuiles au-dessus du sol.
+ * Exactement {@code count} cases sont remplies, tirées uniformément (échantillonnage séquentiel),
+ * ce qui permet d'écrire les objets au fil de l'eau sans les garder en mémoire, même pour un
+ * million d'objets. Le sprite de chaque bloc est tiré dans {@code assets/groundSprites.png}
+ * selon les poids donnés.</p>
+ *
+ * <p>Usage (depuis le dossier {@code src}) : {@code LevelGenerator <nom> [--count=N]
+ * [--density=D] [--length=L] [--height=H] [--start=X] [--mix=index:poids,...] [--seed=S]}.
+ * Le niveau est écrit dans {@code levels/<nom>.zip}.</p>
+ */
+public class LevelGenerator {
+
+    /** Spritesheet utilisée par les blocs, chargée par les scènes au démarrage. */
+    private static final String SPRITESHEET = "assets/groundSprites.png";
+
+    /** Nombre de blocs à générer. */
+    public int count = 1000;
+
+    /** Proportion des cases de la grille remplies (0 à 1), utilisée si {@link #length} vaut 0. */
+    public double density = 0.25;
+
+    /** Longueur du niveau en tuiles (0 pour la déduire de {@link #count} et {@link #density}). */
+    public int length = 0;
+
+    /** Hauteur de la zone remplie, en tuiles au-dessus du sol. */
+    public int height = 8;
+
+    /** Première colonne de blocs, en tuiles, pour laisser le joueur démarrer. */
+    public int start = 20;
+
+    /** Poids de chaque sprite de la spritesheet (index du sprite vers poids). */
+    public int[] spriteWeights = mix("0:1,4:1,5:1");
+
+    /** Graine du générateur aléatoire, pour des niveaux reproductibles. */
+    public long seed = 1;
+
+    /**
+     * Convertit une description {@code index:poids,...} en tableau de poids.
+     *
+     * @param description La description des poids.
+     * @return Le poids de chaque sprite, indexé par numéro de sprite.
+     */
+    public static int[] mix(String description) {
+        int[] weights = new int[0];
+        for (String entry : description.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int index = Integer.parseInt(parts[0]);
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (index < 0 || weight < 0) {
+                System.out.println("Invalid sprite mix entry: " + entry);
+                System.exit(-1);
+            }
+            if (index >= weights.length) {
+                weights = Arrays.copyOf(weights, index + 1);
+            }
+            weights[index] = weight;
+        }
+        return weights;
+    }
+
+    /**
+     * @return La longueur effective du niveau, en tuiles.
+     */
+    public int getLength() {
+        if (length > 0) return length;
+        return (int)Math.ceil(count / (density * height));
+    }
+
+    /**
+     * Écrit le niveau dans {@code levels/<filename>.zip}.
+     *
+     * @param filename Nom du niveau (sans extension).
+     * @throws IOException Si l'archive ne peut pas être écrite.
+     */
+    public void write(String filename) throws IOException {
+        int columns = getLength();
+        long cells = (long)columns * height;
+        if (count < 0 || count > cells) {
+            System.out.println("Cannot place " + count + " objects in " + columns + "x" + height + " tiles");
+            System.exit(-1);
+        }
+
+        AssetPool.addSpritesheet(SPRITESHEET, 42, 42, 2, 6, 12);
+        Spritesheet sheet = AssetPool.getSpritesheet(SPRITESHEET);
+        int totalWeight = 0;
+        for (int i = 0; i < spriteWeights.length; i++) {
+            if (spriteWeights[i] > 0 && i >= sheet.sprites.size()) {
+                System.out.println("Sprite " + i + " does not exist in " + SPRITESHEET);
+                System.exit(-1);
+            }
+            totalWeight += spriteWeights[i];
+        }
+        if (totalWeight == 0) {
+            System.out.println("Sprite mix is empty");
+            System.exit(-1);
+        }
+
+        File levelsDir = new File("levels");
+        if (!levelsDir.exists()) {
+            levelsDir.mkdirs();
+        }
+
+        Random random = new Random(seed);
+        try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(
+                new FileOutputStream("levels/" + filename + ".zip")))) {
+            zos.putNextEntry(new ZipEntry(filename + ".json"));
+
+            long remaining = count;
+            long cellsLeft = cells;
+            for (int column = 0; column < columns && remaining > 0; column++) {
+                for (int row = 0; row < height && remaining > 0; row++, cellsLeft--) {
+                    // Chaque case est retenue avec la probabilité restant / cases restantes
+                    if (random.nextDouble() * cellsLeft >= remaining) continue;
+
+                    float x = (start + column) * Constants.TILE_WIDTH;
+                    float y = Constants.GROUND_Y - (row + 1) * Constants.TILE_HEIGHT;
+                    GameObject block = new GameObject("Generated", new Transform(new Vector2(x, y)), -1);
+                    block.addComponent(sheet.sprites.get(pickSprite(random, totalWeight)).copy());
+                    block.addComponent(new BoxBounds(Constants.TILE_WIDTH, Constants.TILE_HEIGHT));
+
+                    zos.write(block.serialize(0).getBytes(StandardCharsets.UTF_8));
+                    remaining--;
+                    if (remaining > 0) {
+                        zos.write('\n');
+                    }
+                }
+            }
+            zos.closeEntry();
+        }
+    }
+
+    /**
+     * Tire un sprite selon les poids.
+     *
+     * @param random Le générateur aléatoire.
+     * @param totalWeight La somme des poids.
+     * @return L'index du sprite tiré.
+     */
+    private int pickSprite(Random random, int totalWeight) {
+        int r = random.nextInt(totalWeight);
+        for (int i = 0; i < spriteWeights.length; i++) {
+            r -= spriteWeights[i];
+            if (r < 0) return i;
+        }
+        return spriteWeights.length - 1;
+    }
+
+    /**
+     * Génère un niveau à partir des arguments de la ligne de commande.
+     *
+     * @param args Nom du niveau suivi des options.
+     * @throws IOException Si l'archive ne peut pas être écrite.
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length < 1) {
+            System.out.println("Usage: LevelGenerator <name> [--count=N] [--density=D] [--length=L] [--height=H] [--start=X] [--mix=index:weight,...] [--seed=S]");
+            return;
+        }
+
+        LevelGenerator generator = new LevelGenerator();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--count=")) {
+                generator.count = Integer.parseInt(value);
+            } else if (arg.startsWith("--density=")) {
+                generator.density = Double.parseDouble(value);
+            } else if (arg.startsWith("--length=")) {
+                generator.length = Integer.parseInt(value);
+            } else if (arg.startsWith("--height=")) {
+                generator.height = Integer.parseInt(value);
+            } else if (arg.startsWith("--start=")) {
+                generator.start = Integer.parseInt(value);
+            } else if (arg.startsWith("--mix=")) {
+                generator.spriteWeights = mix(value);
+            } else if (arg.startsWith("--seed=")) {
+                generator.seed = Long.parseLong(value);
+            } else {
+                System.out.println("Unknown option: " + arg);
+                System.exit(-1);
+            }
+        }
+        if (generator.density <= 0 || generator.density > 1 || generator.height <= 0) {
+            System.out.println("Density must be in ]0, 1] and height positive");
+            System.exit(-1);
+        }
+
+        long begin = System.nanoTime();
+        generator.write(args[0]);
+        System.out.printf(Locale.ROOT, "Wrote levels/%s.zip: %d objects over %d x %d tiles in %.2f s%n",
+                args[0], generator.count, generator.getLength(), generator.height,
+                (System.nanoTime() - begin) / 1e9);
+    }
+}
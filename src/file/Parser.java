@@ -57,6 +57,17 @@ public class Parser {
         }
     }
 
+    /**
+     * Charge directement des données JSON de niveau déjà en mémoire (sans fichier ZIP).
+     *
+     * @param data Le contenu JSON du niveau.
+     */
+    public static void openBytes(byte[] data) {
+        Parser.bytes = data;
+        Parser.offset = 0;
+        Parser.line = 1;
+    }
+
     /**
      * Analyse et désérialise un objet de jeu à partir des données lues.
      *
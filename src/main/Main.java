@@ -1,16 +1,96 @@
 package main;
 
+import java.io.IOException;
+
+import engine.FrameCapture;
+import engine.RenderQuality;
 import engine.Window;
 import engine.GameObject;
 import dataStructure.Transform;
 import util.Vector2;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         Window window = Window.getWindow();
-        window.init();
+        int startScene = 0;
+
+        // Options de lancement : --fps=N pour changer la cible, --uncapped pour le mode benchmark,
+        // --threaded pour séparer simulation et rendu, --profile-csv=fichier pour exporter les mesures,
+        // --play pour démarrer directement dans le niveau, --record=fichier / --replay=fichier pour les entrées,
+        // --quality=speed|balanced|quality pour le profil de rendu, --capture-dir=dossier pour enregistrer
+        // les frames en PNG (--capture-block pour attendre l'encodage au lieu de perdre des frames)
+        for (String arg : args) {
+            if (arg.equals("--uncapped")) {
+                window.framePacer.setTargetFps(0);
+            } else if (arg.equals("--threaded")) {
+                window.multithreaded = true;
+            } else if (arg.startsWith("--profile-csv=")) {
+                window.profiler.writeCsvOnExit(arg.substring("--profile-csv=".length()));
+            } else if (arg.startsWith("--record=")) {
+                window.startRecording(arg.substring("--record=".length()));
+            } else if (arg.startsWith("--replay=")) {
+                window.startReplay(arg.substring("--replay=".length()));
+            } else if (arg.equals("--play")) {
+                startScene = 1;
+            } else if (arg.startsWith("--fps=")) {
+                window.framePacer.setTargetFps(parseFps(arg.substring("--fps=".length())));
+            } else if (arg.startsWith("--capture-dir=")) {
+                window.captureDirectory = arg.substring("--capture-dir=".length());
+                window.startCapture();
+            } else if (arg.equals("--capture-block")) {
+                window.capturePolicy = FrameCapture.Policy.BLOCK;
+            } else if (arg.startsWith("--quality=")) {
+                window.setRenderQuality(parseQuality(arg.substring("--quality=".length())));
+            }
+        }
+
+        // L'éditeur dessine depuis l'état de la simulation : il ne peut pas être rendu sur un autre thread
+        if (window.multithreaded && startScene == 0) {
+            System.out.println("--threaded is not supported in the level editor, use it with --play");
+            System.exit(-1);
+        }
+
+        window.changeScene(startScene);
 
         Thread mainThread = new Thread(window);
         mainThread.start();
     }
-}
\ No newline at end of file
+
+    /**
+     * Lit la valeur de l'option --fps, un entier strictement positif. Arrête le programme si
+     * la valeur est invalide.
+     *
+     * @param value La valeur de l'option.
+     * @return Le nombre d'images par seconde visé.
+     */
+    private static int parseFps(String value) {
+        try {
+            int fps = Integer.parseInt(value);
+            if (fps > 0) {
+                return fps;
+            }
+        } catch (NumberFormatException e) {
+            // Même message que pour une valeur négative
+        }
+        System.out.println("Invalid --fps value '" + value + "', expected a positive integer");
+        System.exit(-1);
+        return 0;
+    }
+
+    /**
+     * Lit la valeur de l'option --quality, un nom de profil de rendu. Arrête le programme si
+     * le nom est inconnu.
+     *
+     * @param value La valeur de l'option.
+     * @return Le profil de rendu demandé.
+     */
+    private static RenderQuality parseQuality(String value) {
+        try {
+            return RenderQuality.fromName(value);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid --quality value '" + value + "', expected speed, balanced or quality");
+            System.exit(-1);
+            return null;
+        }
+    }
+}
\ No newline at end of file
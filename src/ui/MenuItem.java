@@ -80,10 +80,10 @@ public class MenuItem extends Component{
     public void update(double deltaTime) {
         // Vérifie si la souris est sur l'élément de menu et si un clic gauche a été effectué
         if (!isSelected && 
-            Window.getWindow().mouseListener.x > this.x && Window.getWindow().mouseListener.x <= this.x + this.width &&
-             Window.getWindow().mouseListener.y > this.y && Window.getWindow().mouseListener.y <= this.y + this.height) {
-            if (Window.getWindow().mouseListener.mousePressed && 
-                Window.getWindow().mouseListener.mouseButton == MouseEvent.BUTTON1) {
+            Window.getWindow().input.x > this.x && Window.getWindow().input.x <= this.x + this.width &&
+             Window.getWindow().input.y > this.y && Window.getWindow().input.y <= this.y + this.height) {
+            if (Window.getWindow().input.mousePressed && 
+                Window.getWindow().input.mouseButton == MouseEvent.BUTTON1) {
                 // Crée une copie de l'objet et ajoute un composant SnapToGrid
                 GameObject obj = gameObject.copy();
                 obj.removeComponent(MenuItem.class);
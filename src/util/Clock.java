@@ -0,0 +1,27 @@
+package util;
+
+/**
+ * Source de temps monotone, exprimée en nanosecondes entières.
+ *
+ * <p>Le jeu lit le temps uniquement à travers cette interface, ce qui permet de remplacer
+ * l'horloge réelle ({@link SystemClock}) par une horloge pilotée à la main
+ * ({@link ManualClock}) pour les exécutions headless et les mesures reproductibles.</p>
+ */
+public interface Clock {
+
+    /**
+     * Retourne le temps écoulé depuis l'origine de l'horloge.
+     *
+     * @return Le temps en nanosecondes, jamais décroissant.
+     */
+    long nanoTime();
+
+    /**
+     * Retourne le temps écoulé depuis l'origine de l'horloge, en secondes.
+     *
+     * @return Le temps en secondes.
+     */
+    default double seconds() {
+        return nanoTime() / 1_000_000_000.0;
+    }
+}
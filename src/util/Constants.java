@@ -30,6 +30,27 @@ public class Constants {
      */
     public static final int FPS = 60;
 
+    /**
+     * Fréquence fixe de la simulation (ticks de physique par seconde).
+     */
+    public static final int TICK_RATE = 240;
+
+    /**
+     * Durée d'un tick de simulation en nanosecondes.
+     */
+    public static final long TICK_NANOS = 1_000_000_000L / TICK_RATE;
+
+    /**
+     * Durée d'un tick de simulation en secondes.
+     */
+    public static final double FIXED_DELTA_TIME = TICK_NANOS / 1_000_000_000.0;
+
+    /**
+     * Durée maximale d'une frame prise en compte par la boucle, en nanosecondes.
+     * Évite la spirale de rattrapage après une longue pause (chargement, fenêtre déplacée...).
+     */
+    public static final long MAX_FRAME_NANOS = 250_000_000L;
+
     /**
      * Largeur du joueur en pixels.
      */
@@ -134,4 +155,4 @@ public class Constants {
     public static final int BG_HEIGHT = 512;
     public static final int GROUND_BG_WIDTH = 256;
     public static final int GROUND_BG_HEIGHT = 256;
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Histogramme de durées à seaux fixes, pensé pour être alimenté à chaque frame sans allocation.
+ *
+ * <p>Les seaux suivent une échelle log-linéaire : chaque puissance de deux est découpée en
+ * {@link #SUB_BUCKETS} seaux égaux, ce qui borne l'erreur relative d'un percentile à environ
+ * 6 %. Les valeurs sont en nanosecondes et vont jusqu'à environ une minute ; au-delà, elles
+ * tombent dans le dernier seau. Le maximum est conservé exactement.</p>
+ *
+ * <p>Un histogramme est écrit par un seul thread ; les lectures concurrentes (affichage) peuvent
+ * voir un état légèrement en retard mais jamais incohérent au point de planter.</p>
+ */
+public class Histogram {
+
+    /** Nombre de bits de précision par puissance de deux. */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** Nombre de seaux par puissance de deux. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Plus grande puissance de deux couverte (2^36 ns, environ 68 s). */
+    private static final int MAX_EXPONENT = 36;
+
+    /** Nombre total de seaux. */
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /** Compteurs par seau. */
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    /** Nombre total de valeurs enregistrées. */
+    private long totalCount = 0;
+
+    /** Plus grande valeur enregistrée. */
+    private long max = 0;
+
+    /**
+     * Enregistre une durée.
+     *
+     * @param nanos La durée en nanosecondes.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[bucketIndex(nanos)]++;
+        totalCount++;
+        if (nanos > max) max = nanos;
+    }
+
+    /**
+     * Calcule le seau d'une valeur.
+     *
+     * @param value La valeur en nanosecondes.
+     * @return L'index du seau.
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int)value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int sub = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Retourne la plus grande valeur contenue dans un seau.
+     *
+     * @param index L'index du seau.
+     * @return La borne supérieure du seau, en nanosecondes.
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Retourne la valeur en dessous de laquelle se trouve le pourcentage donné des mesures.
+     *
+     * @param percentile Le percentile voulu, entre 0 et 100 (par exemple 99.9).
+     * @return La valeur du percentile en nanosecondes, bornée par le maximum observé.
+     */
+    public long getPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long rank = (long)Math.ceil(percentile / 100.0 * totalCount);
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return La plus grande valeur enregistrée, en nanosecondes.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return Le nombre de valeurs enregistrées.
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Efface toutes les mesures.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        max = 0;
+    }
+}
@@ -0,0 +1,42 @@
+package util;
+
+/**
+ * Horloge déterministe qui n'avance que lorsqu'on le lui demande.
+ * Utilisée par les exécutions headless pour avancer le temps d'un nombre exact de ticks.
+ */
+public class ManualClock implements Clock {
+
+    /** Temps courant en nanosecondes. */
+    private long now = 0;
+
+    /**
+     * Retourne le temps courant de l'horloge.
+     *
+     * @return Le temps en nanosecondes.
+     */
+    @Override
+    public long nanoTime() {
+        return now;
+    }
+
+    /**
+     * Avance l'horloge d'une durée donnée.
+     *
+     * @param nanos La durée en nanosecondes (positive ou nulle).
+     */
+    public void advance(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Clock cannot go backwards: " + nanos);
+        }
+        now += nanos;
+    }
+
+    /**
+     * Avance l'horloge d'un nombre exact de ticks de simulation.
+     *
+     * @param ticks Nombre de ticks de {@link Constants#TICK_NANOS} nanosecondes.
+     */
+    public void advanceTicks(long ticks) {
+        advance(ticks * Constants.TICK_NANOS);
+    }
+}
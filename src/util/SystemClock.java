@@ -0,0 +1,20 @@
+package util;
+
+/**
+ * Horloge réelle, basée sur {@link System#nanoTime()}, dont l'origine est sa création.
+ */
+public class SystemClock implements Clock {
+
+    /** Valeur de {@link System#nanoTime()} à la création de l'horloge. */
+    private final long origin = System.nanoTime();
+
+    /**
+     * Retourne le temps réel écoulé depuis la création de l'horloge.
+     *
+     * @return Le temps en nanosecondes.
+     */
+    @Override
+    public long nanoTime() {
+        return System.nanoTime() - origin;
+    }
+}